@@ -0,0 +1,91 @@
+package ru.otus.hw.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.otus.hw.dao.parser.ChunkedQuestionLoader;
+import ru.otus.hw.dao.parser.PlainQuestionParser;
+import ru.otus.hw.domain.Question;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Speedup of {@link ChunkedQuestionLoader} over the sequential plain parser: compare {@code chunked}
+ * at each {@code threads} value with {@code sequential}. Scaling needs at least {@code threads} free cores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class ChunkedQuestionLoaderBenchmark {
+
+    @Param({"1000000"})
+    public int rows;
+
+    @Param({"1", "2", "4", "8", "16"})
+    public int threads;
+
+    @Param({"3"})
+    public int answersPerQuestion;
+
+    @Param({"8"})
+    public int wordsPerText;
+
+    @Param({"0.5"})
+    public double cyrillicRatio;
+
+    private Path bankDir;
+
+    private Path csv;
+
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setUp() throws IOException {
+        bankDir = Files.createTempDirectory("chunked-loader-benchmark");
+        csv = QuestionBankGenerator.write(bankDir.resolve("questions.csv"), rows, 42L,
+                new QuestionBankShape(answersPerQuestion, wordsPerText, cyrillicRatio));
+        pool = new ForkJoinPool(threads);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        pool.shutdownNow();
+        try (Stream<Path> files = Files.list(bankDir)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(bankDir);
+    }
+
+    @Benchmark
+    public List<Question> chunked() {
+        return ChunkedQuestionLoader.load(csv, pool);
+    }
+
+    @Benchmark
+    public List<Question> sequential() throws IOException {
+        try (InputStream inputStream = Files.newInputStream(csv)) {
+            return new PlainQuestionParser().parse(inputStream).toList();
+        }
+    }
+}
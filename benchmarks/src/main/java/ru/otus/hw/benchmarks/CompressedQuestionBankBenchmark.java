@@ -0,0 +1,135 @@
+package ru.otus.hw.benchmarks;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.otus.hw.config.AppProperties;
+import ru.otus.hw.dao.CsvQuestionDao;
+import ru.otus.hw.dao.QuestionBankCache;
+import ru.otus.hw.dao.QuestionInterner;
+import ru.otus.hw.dao.parser.PlainQuestionParser;
+import ru.otus.hw.metrics.QuizMetrics;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streaming read of a plain and a gzip-compressed bank through {@link CsvQuestionDao} with caching turned off.
+ * When the trial ends, the heap retained after GC with a read stopped half way through the bank is printed:
+ * a compressed bank is inflated as a stream, so it retains no more than the plain one.
+ * Run with {@code -prof gc} to compare the bytes allocated per read.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class CompressedQuestionBankBenchmark {
+
+    private static final double MB = 1024 * 1024;
+
+    @Param({"200000"})
+    public int rows;
+
+    @Param({"plain", "gzip"})
+    public String compression;
+
+    @Param({"3"})
+    public int answersPerQuestion;
+
+    @Param({"8"})
+    public int wordsPerText;
+
+    @Param({"0.5"})
+    public double cyrillicRatio;
+
+    private Path bankDir;
+
+    private CsvQuestionDao dao;
+
+    private long heapBaseline;
+
+    @Setup
+    public void writeBank() throws IOException {
+        bankDir = Files.createTempDirectory("compressed-bank-benchmark");
+        var shape = new QuestionBankShape(answersPerQuestion, wordsPerText, cyrillicRatio);
+        var csv = QuestionBankGenerator.write(bankDir.resolve("questions.csv"), rows, 42L, shape);
+        var bank = "gzip".equals(compression) ? gzip(csv) : csv;
+        System.out.printf("%nBank %s: %.1f MB on disk, %.1f MB uncompressed%n",
+                bank.getFileName(), Files.size(bank) / MB, Files.size(csv) / MB);
+
+        var properties = new AppProperties();
+        properties.setLocale(Locale.ROOT.toLanguageTag());
+        properties.setDefaultFile(bank.toString());
+        properties.setFileNameByLocaleTag(Map.of());
+        properties.setCacheQuestions(false);
+        dao = new CsvQuestionDao(properties, new QuestionBankCache(), new PlainQuestionParser(), properties,
+                new QuestionInterner(), new QuizMetrics(new SimpleMeterRegistry()));
+
+        heapBaseline = usedHeapAfterGc();
+    }
+
+    @TearDown
+    public void deleteBank() throws IOException {
+        long retained = retainedMidRead() - heapBaseline;
+        System.out.printf("%nHeap retained half way through a read (%s, %d rows): %.1f MB%n",
+                compression, rows, retained / MB);
+        try (Stream<Path> files = Files.list(bankDir)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(bankDir);
+    }
+
+    @Benchmark
+    public long readBank() {
+        try (var questions = dao.stream()) {
+            return questions.count();
+        }
+    }
+
+    private static Path gzip(Path csv) throws IOException {
+        Path target = csv.resolveSibling(csv.getFileName() + ".gz");
+        try (OutputStream outputStream = new GZIPOutputStream(Files.newOutputStream(target))) {
+            Files.copy(csv, outputStream);
+        }
+        return target;
+    }
+
+    private long retainedMidRead() {
+        try (var questions = dao.stream()) {
+            var iterator = questions.iterator();
+            for (int i = 0; i < rows / 2 && iterator.hasNext(); i++) {
+                iterator.next();
+            }
+            return usedHeapAfterGc();
+        }
+    }
+
+    private static long usedHeapAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,119 @@
+package ru.otus.hw.benchmarks;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.otus.hw.config.AppProperties;
+import ru.otus.hw.dao.CsvQuestionDao;
+import ru.otus.hw.dao.QuestionBankCache;
+import ru.otus.hw.dao.QuestionInterner;
+import ru.otus.hw.dao.parser.OpenCsvQuestionParser;
+import ru.otus.hw.dao.parser.PlainQuestionParser;
+import ru.otus.hw.domain.Question;
+import ru.otus.hw.metrics.QuizMetrics;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CsvQuestionDaoBenchmark {
+
+    @Param({"10000", "100000"})
+    public int rows;
+
+    @Param({"opencsv", "plain"})
+    public String parser;
+
+    @Param({"3"})
+    public int answersPerQuestion;
+
+    @Param({"8"})
+    public int wordsPerText;
+
+    @Param({"0.5"})
+    public double cyrillicRatio;
+
+    private Path bankDir;
+
+    private AppProperties properties;
+
+    private QuestionBankCache questionBankCache;
+
+    private CsvQuestionDao cachingDao;
+
+    private CsvQuestionDao streamingDao;
+
+    @Setup(Level.Trial)
+    public void writeBank() throws IOException {
+        bankDir = Files.createTempDirectory("question-bank-benchmark");
+        var shape = new QuestionBankShape(answersPerQuestion, wordsPerText, cyrillicRatio);
+        var bank = QuestionBankGenerator.write(bankDir.resolve("questions.csv"), rows, rows, shape);
+
+        properties = new AppProperties();
+        properties.setLocale(Locale.ROOT.toLanguageTag());
+        properties.setDefaultFile(bank.toString());
+        properties.setFileNameByLocaleTag(Map.of());
+        properties.setCacheQuestions(false);
+        questionBankCache = new QuestionBankCache();
+        cachingDao = newDao(questionBankCache);
+        streamingDao = newDao(questionBankCache);
+    }
+
+    @Setup(Level.Invocation)
+    public void coldCache() {
+        questionBankCache.evict(properties.getTestFileName());
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteBank() throws IOException {
+        questionBankCache.destroy();
+        try (Stream<Path> files = Files.list(bankDir)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(bankDir);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public List<Question> findAll() {
+        return cachingDao.findAll();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Question timeToFirstQuestion() {
+        try (Stream<Question> questions = streamingDao.stream()) {
+            return questions.findFirst().orElseThrow();
+        }
+    }
+
+    private CsvQuestionDao newDao(QuestionBankCache cache) {
+        var questionParser = "plain".equals(parser) ? new PlainQuestionParser() : new OpenCsvQuestionParser();
+        return new CsvQuestionDao(properties, cache, questionParser, properties, new QuestionInterner(),
+                new QuizMetrics(new SimpleMeterRegistry()));
+    }
+}
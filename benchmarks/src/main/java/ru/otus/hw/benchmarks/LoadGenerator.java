@@ -0,0 +1,120 @@
+package ru.otus.hw.benchmarks;
+
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import ru.otus.hw.Application;
+import ru.otus.hw.session.QuizSessionRunner;
+import ru.otus.hw.session.QuizSessionTimings;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.ToLongFunction;
+
+public final class LoadGenerator {
+
+    private static final double MB = 1024 * 1024;
+
+    private LoadGenerator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        List<String> springArgs = new ArrayList<>();
+        for (String arg : args) {
+            String[] option = arg.replaceFirst("^--", "").split("=", 2);
+            if (option.length == 2 && List.of("students", "concurrency", "seed", "bias").contains(option[0])) {
+                options.put(option[0], option[1]);
+            } else {
+                springArgs.add(arg);
+            }
+        }
+        int students = Integer.parseInt(options.getOrDefault("students", "10000"));
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency",
+                String.valueOf(Runtime.getRuntime().availableProcessors() * 4)));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        double bias = Double.parseDouble(options.getOrDefault("bias", "0.3"));
+
+        System.setProperty("spring.shell.interactive.enabled", "false");
+        System.setProperty("spring.shell.noninteractive.enabled", "false");
+        System.setProperty("spring.shell.script.enabled", "false");
+        System.setProperty("logging.level.root", "WARN");
+        try (var context = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .run(springArgs.toArray(String[]::new))) {
+            var runner = context.getBean(QuizSessionRunner.class);
+            run(runner, Math.max(students / 10, 1), concurrency, seed - 1, bias);
+            report(run(runner, students, concurrency, seed, bias), concurrency);
+        }
+    }
+
+    private static LoadReport run(QuizSessionRunner runner, int students, int concurrency, long seed, double bias)
+            throws InterruptedException, ExecutionException {
+        var memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long heapBefore = memory.getHeapMemoryUsage().getUsed();
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        try {
+            long startedAt = System.nanoTime();
+            List<Future<QuizSessionTimings>> sessions = new ArrayList<>(students);
+            for (int i = 0; i < students; i++) {
+                var ioService = new ScriptedStudentIOService(seed * 31 + i, bias);
+                sessions.add(executor.submit(() -> runner.runTimed(ioService)));
+            }
+            List<QuizSessionTimings> timings = new ArrayList<>(students);
+            for (Future<QuizSessionTimings> session : sessions) {
+                timings.add(session.get());
+            }
+            long elapsed = System.nanoTime() - startedAt;
+            long heapAfter = memory.getHeapMemoryUsage().getUsed();
+            System.gc();
+            long heapRetained = memory.getHeapMemoryUsage().getUsed();
+            return new LoadReport(timings, elapsed, heapBefore, heapAfter, heapRetained);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void report(LoadReport report, int concurrency) {
+        var timings = report.timings();
+        long passed = timings.stream().filter(t -> t.result().getRightAnswersCount() > 0).count();
+        System.out.printf("Sessions: %d, concurrency: %d, elapsed: %.1f ms, throughput: %.0f sessions/s%n",
+                timings.size(), concurrency, report.elapsedNanos() / 1e6,
+                timings.size() / (report.elapsedNanos() / 1e9));
+        System.out.printf("Sessions with at least one right answer: %d%n", passed);
+        System.out.printf("%-8s %10s %10s %10s %10s%n", "stage", "p50 us", "p90 us", "p99 us", "max us");
+        printStage("student", timings, QuizSessionTimings::studentNanos);
+        printStage("test", timings, QuizSessionTimings::testNanos);
+        printStage("result", timings, QuizSessionTimings::resultNanos);
+        printStage("total", timings, QuizSessionTimings::totalNanos);
+        System.out.println("time inside the stages above:");
+        printStage("dao", timings, QuizSessionTimings::daoNanos);
+        printStage("messages", timings, QuizSessionTimings::messagesNanos);
+        System.out.printf("Heap used: %.1f MB before, %.1f MB after the run, %.1f MB retained after GC%n",
+                report.heapBefore() / MB, report.heapAfter() / MB, report.heapRetained() / MB);
+    }
+
+    private static void printStage(String stage, List<QuizSessionTimings> timings,
+                                   ToLongFunction<QuizSessionTimings> nanos) {
+        long[] sorted = timings.stream().mapToLong(nanos).sorted().toArray();
+        System.out.printf("%-8s %10.1f %10.1f %10.1f %10.1f%n", stage, percentile(sorted, 0.50) / 1e3,
+                percentile(sorted, 0.90) / 1e3, percentile(sorted, 0.99) / 1e3, sorted[sorted.length - 1] / 1e3);
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        return sorted[Math.max((int) Math.ceil(percentile * sorted.length) - 1, 0)];
+    }
+
+    private record LoadReport(List<QuizSessionTimings> timings, long elapsedNanos,
+                              long heapBefore, long heapAfter, long heapRetained) {
+    }
+}
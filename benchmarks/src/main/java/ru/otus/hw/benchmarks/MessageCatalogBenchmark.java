@@ -0,0 +1,81 @@
+package ru.otus.hw.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import ru.otus.hw.service.MessageCatalog;
+import ru.otus.hw.service.MessageCode;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageCatalogBenchmark {
+
+    @Param({"ru-RU", "en-US"})
+    public String locale;
+
+    private Locale messageLocale;
+
+    private ResourceBundleMessageSource messageSource;
+
+    private MessageCatalog messageCatalog;
+
+    private final Object[] selectArgs = {1, 3};
+
+    private final Object[] questionArgs = {7, "Is there life on Mars?"};
+
+    @Setup
+    public void setUp() {
+        messageLocale = Locale.forLanguageTag(locale);
+        messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasename("messages");
+        messageSource.setDefaultEncoding("UTF-8");
+        messageSource.setFallbackToSystemLocale(false);
+        messageCatalog = new MessageCatalog(messageSource);
+    }
+
+    @Benchmark
+    public String messageSourceConstant() {
+        return messageSource.getMessage("TestService.prompt.select", null, messageLocale);
+    }
+
+    @Benchmark
+    public String catalogConstant() {
+        return messageCatalog.getMessage(MessageCode.TEST_PROMPT_SELECT, null, messageLocale);
+    }
+
+    @Benchmark
+    public String messageSourceFormatted() {
+        return messageSource.getMessage("TestService.prompt.question", questionArgs, messageLocale);
+    }
+
+    @Benchmark
+    public String catalogFormatted() {
+        return messageCatalog.getMessage(MessageCode.TEST_PROMPT_QUESTION, questionArgs, messageLocale);
+    }
+
+    @Benchmark
+    public String messageSourceSelectError() {
+        return messageSource.getMessage("TestService.error.select", selectArgs, messageLocale);
+    }
+
+    @Benchmark
+    public String catalogSelectError() {
+        return messageCatalog.getMessage(MessageCode.TEST_ERROR_SELECT, selectArgs, messageLocale);
+    }
+}
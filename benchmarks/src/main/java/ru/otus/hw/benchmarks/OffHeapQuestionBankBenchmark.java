@@ -0,0 +1,138 @@
+package ru.otus.hw.benchmarks;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.otus.hw.config.AppProperties;
+import ru.otus.hw.dao.CsvQuestionDao;
+import ru.otus.hw.dao.QuestionBankCache;
+import ru.otus.hw.dao.QuestionInterner;
+import ru.otus.hw.dao.parser.PlainQuestionParser;
+import ru.otus.hw.domain.Answer;
+import ru.otus.hw.domain.Question;
+import ru.otus.hw.metrics.QuizMetrics;
+
+import java.io.IOException;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * A loaded bank kept as an on-heap {@code List<Question>} against the off-heap bank of {@code offHeapQuestions}.
+ * The retained heap and direct memory of each bank are printed after loading, {@code fullGc} compares
+ * the pause of a full collection with the bank live and {@code readQuestion} the cost of decoding on access.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class OffHeapQuestionBankBenchmark {
+
+    private static final double MB = 1024 * 1024;
+
+    private static final long CLEANER_DELAY_MILLIS = 500;
+
+    @Param({"1000000"})
+    public int rows;
+
+    @Param({"heap", "offheap"})
+    public String storage;
+
+    @Param({"3"})
+    public int answersPerQuestion;
+
+    @Param({"8"})
+    public int wordsPerText;
+
+    @Param({"0.5"})
+    public double cyrillicRatio;
+
+    private Path bankDir;
+
+    private List<Question> bank;
+
+    @Setup
+    public void loadBank() throws IOException, InterruptedException {
+        bankDir = Files.createTempDirectory("off-heap-bank-benchmark");
+        var shape = new QuestionBankShape(answersPerQuestion, wordsPerText, cyrillicRatio);
+        var csv = QuestionBankGenerator.write(bankDir.resolve("questions.csv"), rows, 42L, shape);
+
+        var properties = new AppProperties();
+        properties.setLocale(Locale.ROOT.toLanguageTag());
+        properties.setDefaultFile(csv.toString());
+        properties.setFileNameByLocaleTag(Map.of());
+        properties.setOffHeapQuestions("offheap".equals(storage));
+        var questionBankCache = new QuestionBankCache();
+        var dao = new CsvQuestionDao(properties, questionBankCache, new PlainQuestionParser(), properties,
+                new QuestionInterner(), new QuizMetrics(new SimpleMeterRegistry()));
+
+        long heapBefore = usedHeapAfterGc();
+        long directBefore = directMemoryUsed();
+        bank = dao.findAll();
+        questionBankCache.destroy();
+        long heapRetained = usedHeapAfterGc() - heapBefore;
+        // buffers outgrown while the bank was written are released by the cleaner thread after the collection
+        Thread.sleep(CLEANER_DELAY_MILLIS);
+        System.out.printf("%nBank of %d questions (%s): %.1f MB retained on heap, %.1f MB of direct memory%n",
+                bank.size(), storage, heapRetained / MB, (directMemoryUsed() - directBefore) / MB);
+    }
+
+    @TearDown
+    public void deleteBank() throws IOException {
+        try (Stream<Path> files = Files.list(bankDir)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(bankDir);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int fullGc() {
+        System.gc();
+        return bank.size();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public int readQuestion() {
+        Question question = bank.get(ThreadLocalRandom.current().nextInt(bank.size()));
+        int length = question.text().length();
+        for (Answer answer : question.answers()) {
+            length += answer.text().length();
+        }
+        return length;
+    }
+
+    private static long usedHeapAfterGc() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static long directMemoryUsed() {
+        return ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream()
+                .filter(pool -> "direct".equals(pool.getName()))
+                .mapToLong(BufferPoolMXBean::getMemoryUsed)
+                .sum();
+    }
+}
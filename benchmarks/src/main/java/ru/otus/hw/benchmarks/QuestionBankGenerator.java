@@ -0,0 +1,66 @@
+package ru.otus.hw.benchmarks;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+public final class QuestionBankGenerator {
+
+    private static final String HEADER = "# Synthetic question bank";
+
+    private static final String[] LATIN_WORDS = {
+        "question", "answer", "science", "planet", "resource", "exception", "nobody", "knows"
+    };
+
+    private static final String[] CYRILLIC_WORDS = {
+        "вопрос", "ответ", "наука", "планета", "ресурс", "исключение", "никто", "знает"
+    };
+
+    private QuestionBankGenerator() {
+    }
+
+    public static byte[] generate(int rows, long seed) {
+        return generate(rows, seed, QuestionBankShape.DEFAULT);
+    }
+
+    public static byte[] generate(int rows, long seed, QuestionBankShape shape) {
+        var random = new Random(seed);
+        int rowLength = (shape.answersPerQuestion() + 1) * shape.wordsPerText() * 10;
+        var sb = new StringBuilder(rows * rowLength).append(HEADER).append('\n');
+        for (int row = 0; row < rows; row++) {
+            appendText(sb, random, shape).append('?').append(';');
+            int correct = random.nextInt(shape.answersPerQuestion());
+            for (int answer = 0; answer < shape.answersPerQuestion(); answer++) {
+                if (answer > 0) {
+                    sb.append('|');
+                }
+                appendText(sb, random, shape).append('%').append(answer == correct);
+            }
+            sb.append('\n');
+        }
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    public static Path write(Path target, int rows, long seed, QuestionBankShape shape) {
+        try {
+            Files.createDirectories(target.toAbsolutePath().getParent());
+            return Files.write(target, generate(rows, seed, shape));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Question bank was not written to " + target, e);
+        }
+    }
+
+    private static StringBuilder appendText(StringBuilder sb, Random random, QuestionBankShape shape) {
+        for (int i = 0; i < shape.wordsPerText(); i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            String[] words = random.nextDouble() < shape.cyrillicRatio() ? CYRILLIC_WORDS : LATIN_WORDS;
+            sb.append(words[random.nextInt(words.length)]);
+        }
+        return sb;
+    }
+}
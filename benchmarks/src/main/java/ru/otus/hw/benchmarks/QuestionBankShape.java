@@ -0,0 +1,15 @@
+package ru.otus.hw.benchmarks;
+
+public record QuestionBankShape(int answersPerQuestion, int wordsPerText, double cyrillicRatio) {
+
+    public static final QuestionBankShape DEFAULT = new QuestionBankShape(3, 8, 0.5);
+
+    public QuestionBankShape {
+        if (answersPerQuestion < 1 || wordsPerText < 1) {
+            throw new IllegalArgumentException("A question needs at least one answer and one word per text");
+        }
+        if (cyrillicRatio < 0 || cyrillicRatio > 1) {
+            throw new IllegalArgumentException("Cyrillic ratio must be within [0, 1]: " + cyrillicRatio);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package ru.otus.hw.benchmarks;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.otus.hw.config.AppProperties;
+import ru.otus.hw.dao.CsvQuestionDao;
+import ru.otus.hw.dao.QuestionBankCache;
+import ru.otus.hw.dao.QuestionInterner;
+import ru.otus.hw.dao.parser.PlainQuestionParser;
+import ru.otus.hw.domain.Question;
+import ru.otus.hw.metrics.QuizMetrics;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Loads one bank per locale through {@link CsvQuestionDao} with and without {@code test.internAnswers}.
+ * The banks share a small vocabulary, so answer texts repeat within and across them. At the end of
+ * each iteration the heap retained by the loaded banks after GC is printed together with the saving
+ * estimated by {@link QuestionInterner}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class QuestionInternerBenchmark {
+
+    private static final double MB = 1024 * 1024;
+
+    @Param({"20"})
+    public int locales;
+
+    @Param({"20000"})
+    public int rows;
+
+    @Param({"false", "true"})
+    public boolean internAnswers;
+
+    @Param({"3"})
+    public int answersPerQuestion;
+
+    @Param({"2"})
+    public int wordsPerText;
+
+    @Param({"0.5"})
+    public double cyrillicRatio;
+
+    private Path bankDir;
+
+    private List<String> fileNames;
+
+    private QuestionBankCache cache;
+
+    private QuestionInterner interner;
+
+    private CsvQuestionDao dao;
+
+    private List<List<Question>> loaded;
+
+    private long heapBefore;
+
+    @Setup
+    public void writeBanks() throws IOException {
+        bankDir = Files.createTempDirectory("interner-benchmark");
+        var shape = new QuestionBankShape(answersPerQuestion, wordsPerText, cyrillicRatio);
+        fileNames = new ArrayList<>();
+        for (int i = 0; i < locales; i++) {
+            fileNames.add(QuestionBankGenerator.write(bankDir.resolve("questions_" + i + ".csv"), rows, i, shape)
+                    .toString());
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void createDao() {
+        var properties = new AppProperties();
+        properties.setLocale(Locale.ROOT.toLanguageTag());
+        properties.setDefaultFile(fileNames.get(0));
+        properties.setFileNameByLocaleTag(Map.of());
+        properties.setInternAnswers(internAnswers);
+        cache = new QuestionBankCache();
+        interner = new QuestionInterner();
+        dao = new CsvQuestionDao(properties, cache, new PlainQuestionParser(), properties, interner,
+                new QuizMetrics(new SimpleMeterRegistry()));
+        loaded = null;
+        heapBefore = usedHeapAfterGc();
+    }
+
+    @TearDown(Level.Iteration)
+    public void measureRetainedHeap() throws IOException {
+        long retained = usedHeapAfterGc() - heapBefore;
+        System.out.printf("%n%d banks of %d rows, internAnswers=%s: %.1f MB retained, %.1f MB saved by estimate%n",
+                loaded.size(), rows, internAnswers, retained / MB, interner.getSavedBytes() / MB);
+        loaded = null;
+        cache.destroy();
+    }
+
+    @TearDown
+    public void deleteBanks() throws IOException {
+        try (Stream<Path> files = Files.list(bankDir)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(bankDir);
+    }
+
+    @Benchmark
+    public List<List<Question>> loadBanks() {
+        loaded = fileNames.stream().map(dao::findAll).toList();
+        return loaded;
+    }
+
+    private static long usedHeapAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
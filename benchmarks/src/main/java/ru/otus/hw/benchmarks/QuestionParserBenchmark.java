@@ -0,0 +1,50 @@
+package ru.otus.hw.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.otus.hw.dao.parser.OpenCsvQuestionParser;
+import ru.otus.hw.dao.parser.PlainQuestionParser;
+import ru.otus.hw.dao.parser.QuestionParser;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class QuestionParserBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    @Param({"opencsv", "plain"})
+    public String parser;
+
+    private byte[] bank;
+
+    private QuestionParser questionParser;
+
+    @Setup
+    public void setUp() {
+        bank = QuestionBankGenerator.generate(rows, rows);
+        questionParser = "plain".equals(parser) ? new PlainQuestionParser() : new OpenCsvQuestionParser();
+    }
+
+    @Benchmark
+    public void parse(Blackhole blackhole) {
+        questionParser.parse(new ByteArrayInputStream(bank)).forEach(blackhole::consume);
+    }
+}
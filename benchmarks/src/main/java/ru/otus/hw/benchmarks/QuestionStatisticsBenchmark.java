@@ -0,0 +1,54 @@
+package ru.otus.hw.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.otus.hw.config.AppProperties;
+import ru.otus.hw.dao.BankVersion;
+import ru.otus.hw.domain.Answer;
+import ru.otus.hw.domain.Question;
+import ru.otus.hw.stats.QuestionStatistics;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class QuestionStatisticsBenchmark {
+
+    private List<Question> questions;
+
+    private QuestionStatistics statistics;
+
+    @Setup
+    public void setUp() {
+        questions = IntStream.range(0, 20)
+                .mapToObj(i -> new Question("Question " + i, List.of(new Answer("Right", true),
+                        new Answer("Wrong", false), new Answer("Also wrong", false))))
+                .toList();
+        statistics = new QuestionStatistics(new AppProperties());
+    }
+
+    @Benchmark
+    public void recordAnswer() {
+        var random = ThreadLocalRandom.current();
+        int bankIndex = random.nextInt(questions.size());
+        var question = questions.get(bankIndex);
+        statistics.recordAnswer(BankVersion.FIXED, bankIndex, question, random.nextInt(question.answers().size()));
+    }
+}
@@ -0,0 +1,67 @@
+package ru.otus.hw.benchmarks;
+
+import ru.otus.hw.service.IOService;
+
+import java.util.Random;
+
+public class ScriptedStudentIOService implements IOService {
+
+    private static final String[] NAMES = {
+        "Ivan", "Maria", "John", "Anna", "Пётр", "Ольга", "Алексей", "Екатерина"
+    };
+
+    private final Random random;
+
+    private final double firstAnswerBias;
+
+    private long printedChars;
+
+    public ScriptedStudentIOService(long seed, double firstAnswerBias) {
+        this.random = new Random(seed);
+        this.firstAnswerBias = firstAnswerBias;
+    }
+
+    public long getPrintedChars() {
+        return printedChars;
+    }
+
+    @Override
+    public void printLine(String s) {
+        printedChars += s.length() + 1;
+    }
+
+    @Override
+    public void printFormattedLine(String s, Object... args) {
+        printLine(String.format(s, args));
+    }
+
+    @Override
+    public void printBytes(byte[] utf8Line) {
+        printedChars += utf8Line.length + 1;
+    }
+
+    @Override
+    public String readString() {
+        return NAMES[random.nextInt(NAMES.length)];
+    }
+
+    @Override
+    public String readStringWithPrompt(String prompt) {
+        printLine(prompt);
+        return readString();
+    }
+
+    @Override
+    public int readIntForRange(int min, int max, String errorMessage) {
+        if (random.nextDouble() < firstAnswerBias) {
+            return min;
+        }
+        return min + random.nextInt(max - min + 1);
+    }
+
+    @Override
+    public int readIntForRangeWithPrompt(int min, int max, String prompt, String errorMessage) {
+        printLine(prompt);
+        return readIntForRange(min, max, errorMessage);
+    }
+}
@@ -0,0 +1,110 @@
+package ru.otus.hw.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.otus.hw.domain.Answer;
+import ru.otus.hw.domain.Question;
+import ru.otus.hw.domain.Student;
+import ru.otus.hw.domain.TestResult;
+import ru.otus.hw.service.TestResultCompactor;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Builds a cohort of results kept either as {@link TestResult} or as their compact form.
+ * The heap retained by the cohort after GC is printed per result at the end of each iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class TestResultCompactorBenchmark {
+
+    @Param({"1000000"})
+    public int cohortSize;
+
+    @Param({"5"})
+    public int questionsPerResult;
+
+    @Param({"full", "compact"})
+    public String form;
+
+    private final Student student = new Student("Bob", "Smith");
+
+    private List<Question> bank;
+
+    private TestResultCompactor compactor;
+
+    private Object[] cohort;
+
+    private long heapBefore;
+
+    @Setup
+    public void createBank() {
+        bank = IntStream.range(0, 100)
+                .mapToObj(i -> new Question("Question " + i, List.of(new Answer("Right", true),
+                        new Answer("Wrong", false), new Answer("Also wrong", false))))
+                .toList();
+        compactor = new TestResultCompactor(bank);
+    }
+
+    @Setup(Level.Iteration)
+    public void measureHeapBefore() {
+        cohort = null;
+        heapBefore = usedHeapAfterGc();
+    }
+
+    @TearDown(Level.Iteration)
+    public void measureRetainedHeap() {
+        long retained = usedHeapAfterGc() - heapBefore;
+        System.out.printf("%n%s results of %d questions: %d B/result retained%n",
+                form, questionsPerResult, retained / cohort.length);
+        cohort = null;
+    }
+
+    @Benchmark
+    public Object[] buildCohort() {
+        var random = new Random(7);
+        boolean compact = "compact".equals(form);
+        cohort = new Object[cohortSize];
+        for (int i = 0; i < cohortSize; i++) {
+            var result = randomResult(random);
+            cohort[i] = compact ? compactor.compact(result) : result;
+        }
+        return cohort;
+    }
+
+    private TestResult randomResult(Random random) {
+        var result = new TestResult(student);
+        for (int i = 0; i < questionsPerResult; i++) {
+            int bankIndex = random.nextInt(bank.size());
+            var question = bank.get(bankIndex);
+            result.applyAnswer(bankIndex, question, random.nextInt(question.answers().size()));
+        }
+        return result;
+    }
+
+    private static long usedHeapAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
@@ -4,16 +4,24 @@ import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.LinkedHashMap;
 import java.util.Locale;
 import java.util.Map;
 
 @Setter
 @ConfigurationProperties(prefix = "test")
-public class AppProperties implements TestConfig, TestFileNameProvider, LocaleConfig {
+public class AppProperties implements TestConfig, TestFileNameProvider, LocaleConfig, QuestionBankConfig,
+        ServerConfig, JournalConfig, SessionConfig {
 
     @Getter
     private int rightAnswersCountToPass;
 
+    @Getter
+    private int questionsPerSession;
+
+    @Getter
+    private Long samplingSeed;
+
     @Getter
     private Locale locale;
 
@@ -22,6 +30,57 @@ public class AppProperties implements TestConfig, TestFileNameProvider, LocaleCo
 
     private Map<String, String> fileNameByLocaleTag;
 
+    @Getter
+    private String bankCacheDir;
+
+    @Getter
+    private boolean cacheQuestions = true;
+
+    @Getter
+    private boolean internAnswers;
+
+    @Getter
+    private boolean offHeapQuestions;
+
+    @Getter
+    private long parallelLoadMinBytes;
+
+    @Getter
+    private int jdbcPageSize = 500;
+
+    @Getter
+    private int serverPort;
+
+    @Getter
+    private String serverAddress = "127.0.0.1";
+
+    @Getter
+    private int serverReadTimeoutMillis = 300_000;
+
+    @Getter
+    private int serverMaxConnections = 1000;
+
+    @Getter
+    private int sessionThreads = 10_000;
+
+    @Getter
+    private int sessionQueueCapacity;
+
+    @Getter
+    private long sessionAttachTimeoutMillis = 60_000;
+
+    @Getter
+    private String resultJournalFile;
+
+    @Getter
+    private int journalGroupCommitBytes = 64 * 1024;
+
+    @Getter
+    private long journalGroupCommitMillis = 10;
+
+    @Getter
+    private long journalRecordTimeoutMillis = 5_000;
+
     public void setLocale(String locale) {
         this.locale = Locale.forLanguageTag(locale);
     }
@@ -30,4 +89,12 @@ public class AppProperties implements TestConfig, TestFileNameProvider, LocaleCo
     public String getTestFileName() {
         return fileNameByLocaleTag.getOrDefault(locale.toLanguageTag(), defaultFile);
     }
+
+    @Override
+    public Map<Locale, String> getTestFileNameByLocale() {
+        Map<Locale, String> fileNames = new LinkedHashMap<>();
+        fileNames.put(Locale.ROOT, defaultFile);
+        fileNameByLocaleTag.forEach((tag, fileName) -> fileNames.put(Locale.forLanguageTag(tag), fileName));
+        return fileNames;
+    }
 }
@@ -0,0 +1,11 @@
+package ru.otus.hw.config;
+
+public interface JournalConfig {
+    String getResultJournalFile();
+
+    int getJournalGroupCommitBytes();
+
+    long getJournalGroupCommitMillis();
+
+    long getJournalRecordTimeoutMillis();
+}
@@ -0,0 +1,15 @@
+package ru.otus.hw.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfiguration {
+
+    @Bean(destroyMethod = "close")
+    public MeterRegistry meterRegistry() {
+        return new SimpleMeterRegistry();
+    }
+}
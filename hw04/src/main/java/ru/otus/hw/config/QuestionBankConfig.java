@@ -0,0 +1,15 @@
+package ru.otus.hw.config;
+
+public interface QuestionBankConfig {
+    String getBankCacheDir();
+
+    boolean isCacheQuestions();
+
+    boolean isInternAnswers();
+
+    boolean isOffHeapQuestions();
+
+    long getParallelLoadMinBytes();
+
+    int getJdbcPageSize();
+}
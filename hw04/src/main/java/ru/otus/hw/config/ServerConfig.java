@@ -0,0 +1,11 @@
+package ru.otus.hw.config;
+
+public interface ServerConfig {
+    int getServerPort();
+
+    String getServerAddress();
+
+    int getServerReadTimeoutMillis();
+
+    int getServerMaxConnections();
+}
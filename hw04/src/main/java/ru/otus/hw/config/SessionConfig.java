@@ -0,0 +1,9 @@
+package ru.otus.hw.config;
+
+public interface SessionConfig {
+    int getSessionThreads();
+
+    int getSessionQueueCapacity();
+
+    long getSessionAttachTimeoutMillis();
+}
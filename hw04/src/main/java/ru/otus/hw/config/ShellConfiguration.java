@@ -0,0 +1,32 @@
+package ru.otus.hw.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.shell.boot.NonInteractiveShellRunnerCustomizer;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Configuration
+public class ShellConfiguration {
+
+    /**
+     * Lets one-shot runs mix Spring properties with the command, e.g. {@code --test.locale=en-US run}:
+     * {@code --name.with.dots=value} arguments are already in the environment and are not passed to the shell.
+     */
+    @Bean
+    public NonInteractiveShellRunnerCustomizer propertyArgumentsFilter() {
+        return runner -> runner.setCommandsFromArgs(args -> {
+            var command = Arrays.stream(args)
+                    .filter(arg -> !isPropertyArgument(arg))
+                    .collect(Collectors.joining(" "));
+            return command.isEmpty() ? List.of() : List.of(command);
+        });
+    }
+
+    private static boolean isPropertyArgument(String arg) {
+        int equalsAt = arg.indexOf('=');
+        return arg.startsWith("--") && equalsAt > 0 && arg.substring(0, equalsAt).indexOf('.') > 0;
+    }
+}
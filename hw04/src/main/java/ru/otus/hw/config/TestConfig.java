@@ -2,4 +2,8 @@ package ru.otus.hw.config;
 
 public interface TestConfig {
     int getRightAnswersCountToPass();
+
+    int getQuestionsPerSession();
+
+    Long getSamplingSeed();
 }
@@ -1,5 +1,10 @@
 package ru.otus.hw.config;
 
+import java.util.Locale;
+import java.util.Map;
+
 public interface TestFileNameProvider {
     String getTestFileName();
+
+    Map<Locale, String> getTestFileNameByLocale();
 }
@@ -0,0 +1,13 @@
+package ru.otus.hw.dao;
+
+/**
+ * Identifies the questions a DAO serves at the moment: the bank file of the current locale and its generation,
+ * which changes whenever the bank is reloaded. Anything remembered per bank position is valid for one version only.
+ */
+public record BankVersion(String fileName, long generation) {
+
+    /**
+     * The version of a DAO that serves a single bank which never changes.
+     */
+    public static final BankVersion FIXED = new BankVersion("", 0);
+}
@@ -1,51 +1,264 @@
 package ru.otus.hw.dao;
 
-import com.opencsv.bean.CsvToBean;
-import com.opencsv.bean.CsvToBeanBuilder;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
+import ru.otus.hw.config.QuestionBankConfig;
 import ru.otus.hw.config.TestFileNameProvider;
-import ru.otus.hw.dao.dto.QuestionDto;
+import ru.otus.hw.dao.binary.DirectQuestionBankWriter;
+import ru.otus.hw.dao.index.CsvRecordIndex;
+import ru.otus.hw.dao.parser.ChunkedQuestionLoader;
+import ru.otus.hw.dao.parser.QuestionParser;
 import ru.otus.hw.domain.Question;
 import ru.otus.hw.exceptions.QuestionReadException;
+import ru.otus.hw.metrics.QuizMetrics;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.io.Reader;
-import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+@Slf4j
 @RequiredArgsConstructor
 @Component
-public class CsvQuestionDao implements QuestionDao {
+@ConditionalOnProperty(prefix = "test", name = "dao", havingValue = "csv", matchIfMissing = true)
+public class CsvQuestionDao implements QuestionDao, DisposableBean {
     private final TestFileNameProvider fileNameProvider;
 
+    private final QuestionBankCache questionBankCache;
+
+    private final QuestionParser questionParser;
+
+    private final QuestionBankConfig questionBankConfig;
+
+    private final QuestionInterner questionInterner;
+
+    private final QuizMetrics quizMetrics;
+
+    private static final Duration STALENESS_CHECK_INTERVAL = Duration.ofSeconds(1);
+
+    private final Map<String, CsvRecordIndex> indexes = new ConcurrentHashMap<>();
+
     @Override
     public List<Question> findAll() {
+        return findAll(getFileName());
+    }
+
+    @Override
+    public List<Question> findAll(String fileName) {
+        return questionBankCache.get(fileName, this::load);
+    }
+
+    @Override
+    public Stream<Question> stream() {
+        String fileName = getFileName();
+        if (questionBankConfig.isCacheQuestions()) {
+            return findAll(fileName).stream();
+        }
+        InputStream inputStream = QuestionResources.open(fileName);
+        return parse(inputStream).onClose(() -> close(inputStream));
+    }
+
+    @Override
+    public int count() {
+        if (questionBankConfig.isCacheQuestions()) {
+            return findAll().size();
+        }
+        var size = withIndex(getFileName(), CsvRecordIndex::size);
+        if (size.isPresent()) {
+            return size.get();
+        }
+        try (var questions = stream()) {
+            return Math.toIntExact(questions.count());
+        }
+    }
+
+    @Override
+    public Question findByIndex(int index) {
+        return findRange(index, index + 1).get(0);
+    }
+
+    @Override
+    public List<Question> findRange(int from, int to) {
+        if (questionBankConfig.isCacheQuestions()) {
+            return findAll().subList(from, to);
+        }
+        var indexed = withIndex(getFileName(),
+                index -> intern(index.range(from, to).stream()).collect(Collectors.toList()));
+        if (indexed.isPresent()) {
+            return indexed.get();
+        }
+        if (from < 0 || from > to) {
+            throw new IndexOutOfBoundsException("Range [%d, %d) is invalid".formatted(from, to));
+        }
+        try (var questions = stream()) {
+            List<Question> range = questions.skip(from).limit(to - from).collect(Collectors.toList());
+            if (range.size() < to - from) {
+                throw new IndexOutOfBoundsException("Range [%d, %d) is out of the question bank".formatted(from, to));
+            }
+            return range;
+        }
+    }
+
+    @Override
+    public boolean isIndexed() {
+        return questionBankConfig.isCacheQuestions() || withIndex(getFileName(), index -> true).isPresent();
+    }
+
+    @Override
+    public boolean isCaching() {
+        return questionBankConfig.isCacheQuestions();
+    }
+
+    @Override
+    public BankVersion getBankVersion() {
+        String fileName = getFileName();
+        if (questionBankConfig.isCacheQuestions()) {
+            return new BankVersion(fileName, questionBankCache.getGeneration(fileName));
+        }
+        // a streamed bank is read anew by every session, so it changes together with the file
+        return new BankVersion(fileName, QuestionResources.resolveFile(fileName)
+                .map(CsvQuestionDao::lastModifiedMillis)
+                .orElse(0L));
+    }
+
+    @Override
+    public void destroy() {
+        for (var index : indexes.values()) {
+            index.close();
+        }
+        indexes.clear();
+    }
+
+    private <T> Optional<T> withIndex(String fileName, Function<CsvRecordIndex, T> action) {
+        CsvRecordIndex index;
+        do {
+            index = indexes.get(fileName);
+            if (index == null || index.isStale(STALENESS_CHECK_INTERVAL)) {
+                var reopened = reopenIndex(fileName);
+                if (reopened.isEmpty()) {
+                    return Optional.empty();
+                }
+                index = reopened.get();
+            }
+        } while (!index.acquire());
+        try {
+            return Optional.of(action.apply(index));
+        } finally {
+            index.release();
+        }
+    }
+
+    private Optional<CsvRecordIndex> reopenIndex(String fileName) {
+        if (QuestionResources.isCompressed(fileName)) {
+            return Optional.empty();
+        }
+        var csv = QuestionResources.resolveFile(fileName);
+        if (csv.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(indexes.compute(fileName, (name, current) -> {
+            if (current != null && !current.isStale()) {
+                return current;
+            }
+            if (current != null) {
+                // readers still holding the stale index keep its channel open until they release it
+                current.close();
+            }
+            return CsvRecordIndex.open(csv.get(), indexFile(name));
+        }));
+    }
+
+    private Path indexFile(String fileName) {
+        return QuestionResources.cacheFile(questionBankConfig.getBankCacheDir(), fileName, ".idx");
+    }
+
+    private String getFileName() {
         String fileName = fileNameProvider.getTestFileName();
         if (fileName == null || fileName.trim().isEmpty()) {
             throw new QuestionReadException("File name is not provided");
         }
-        ClassLoader classLoader = getClass().getClassLoader();
-        InputStream resourceStream = classLoader.getResourceAsStream(fileName);
-        if (resourceStream == null) {
-            throw new QuestionReadException("Resource not found: " + fileName);
-        }
-        try (Reader reader = new InputStreamReader(resourceStream, StandardCharsets.UTF_8)) {
-            CsvToBean<QuestionDto> csvToBean = new CsvToBeanBuilder<QuestionDto>(reader)
-                    .withType(QuestionDto.class)
-                    .withSkipLines(1)
-                    .withSeparator(';')
-                    .build();
-
-            return csvToBean.parse()
-                    .stream()
-                    .map(QuestionDto::toDomainObject)
+        return fileName;
+    }
+
+    private List<Question> load(String fileName) {
+        long startedAt = System.nanoTime();
+        List<Question> questions;
+        if (questionBankConfig.isOffHeapQuestions()) {
+            questions = readOffHeap(fileName);
+        } else {
+            questions = largeFile(fileName)
+                    .map(csv -> intern(ChunkedQuestionLoader.load(csv, ForkJoinPool.commonPool()).stream())
+                            .collect(Collectors.toList()))
+                    .orElseGet(() -> read(fileName));
+        }
+        quizMetrics.recordBankLoad(fileName, System.nanoTime() - startedAt, questions.size());
+        if (questionBankConfig.isInternAnswers()) {
+            log.info("Question bank {} loaded, {} bytes saved by interning so far",
+                    fileName, questionInterner.getSavedBytes());
+        }
+        return questions;
+    }
+
+    private List<Question> read(String fileName) {
+        try (InputStream inputStream = QuestionResources.open(fileName)) {
+            return parse(inputStream)
                     .collect(Collectors.toList());
         } catch (IOException e) {
             throw new QuestionReadException("Error reading CSV file", e);
         }
     }
+
+    private List<Question> readOffHeap(String fileName) {
+        try (InputStream inputStream = QuestionResources.open(fileName)) {
+            var writer = new DirectQuestionBankWriter();
+            questionParser.parse(inputStream).forEach(writer::append);
+            return writer.finish();
+        } catch (IOException e) {
+            throw new QuestionReadException("Error reading CSV file", e);
+        }
+    }
+
+    private static long lastModifiedMillis(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private Optional<Path> largeFile(String fileName) {
+        long minBytes = questionBankConfig.getParallelLoadMinBytes();
+        if (minBytes <= 0 || QuestionResources.isCompressed(fileName)) {
+            return Optional.empty();
+        }
+        return QuestionResources.resolveFile(fileName).filter(csv -> csv.toFile().length() >= minBytes);
+    }
+
+    private Stream<Question> parse(InputStream inputStream) {
+        return intern(questionParser.parse(inputStream));
+    }
+
+    private Stream<Question> intern(Stream<Question> questions) {
+        return questionBankConfig.isInternAnswers() ? questions.map(questionInterner::intern) : questions;
+    }
+
+    private void close(InputStream inputStream) {
+        try {
+            inputStream.close();
+        } catch (IOException e) {
+            throw new QuestionReadException("Error reading CSV file", e);
+        }
+    }
 }
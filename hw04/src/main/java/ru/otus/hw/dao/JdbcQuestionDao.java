@@ -0,0 +1,178 @@
+package ru.otus.hw.dao;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import ru.otus.hw.config.QuestionBankConfig;
+import ru.otus.hw.config.TestFileNameProvider;
+import ru.otus.hw.dao.jdbc.QuestionBankImporter;
+import ru.otus.hw.domain.Answer;
+import ru.otus.hw.domain.Question;
+import ru.otus.hw.exceptions.QuestionReadException;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Question bank stored in the database. A bank is imported from its CSV file on first access and then
+ * read in keyset pages of {@code jdbcPageSize} questions, so streaming it keeps a single page in memory.
+ */
+@RequiredArgsConstructor
+@Component
+@ConditionalOnProperty(prefix = "test", name = "dao", havingValue = "jdbc")
+public class JdbcQuestionDao implements QuestionDao {
+
+    private static final String PAGE_SQL = """
+            SELECT q.position,
+                   q.text,
+                   a.text    AS answer_text,
+                   a.correct AS answer_correct
+            FROM (SELECT position, text
+                  FROM questions
+                  WHERE bank_id = :bank_id AND position >= :from AND position < :to
+                  ORDER BY position
+                  LIMIT :limit) q
+                LEFT JOIN answers a ON a.bank_id = :bank_id AND a.question_position = q.position
+            ORDER BY q.position, a.position
+            """;
+
+    private final TestFileNameProvider fileNameProvider;
+
+    private final QuestionBankConfig questionBankConfig;
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    private final QuestionBankImporter importer;
+
+    private final Map<String, Long> bankIds = new ConcurrentHashMap<>();
+
+    @Override
+    public List<Question> findAll() {
+        return findAll(getFileName());
+    }
+
+    @Override
+    public List<Question> findAll(String fileName) {
+        try (var questions = stream(bankId(fileName))) {
+            return questions.collect(Collectors.toList());
+        }
+    }
+
+    @Override
+    public Stream<Question> stream() {
+        return stream(bankId(getFileName()));
+    }
+
+    @Override
+    public int count() {
+        String sql = "SELECT COUNT(*) FROM questions WHERE bank_id = :bank_id";
+        Integer count = jdbc.queryForObject(sql, Map.of("bank_id", bankId(getFileName())), Integer.class);
+        return count == null ? 0 : count;
+    }
+
+    @Override
+    public Question findByIndex(int index) {
+        return findRange(index, index + 1).get(0);
+    }
+
+    @Override
+    public List<Question> findRange(int from, int to) {
+        if (from < 0 || from > to) {
+            throw new IndexOutOfBoundsException("Range [%d, %d) is invalid".formatted(from, to));
+        }
+        long bankId = bankId(getFileName());
+        List<Question> range = new ArrayList<>(to - from);
+        Page page = page(bankId, from, to);
+        range.addAll(page.questions());
+        while (!page.isLast()) {
+            page = page(bankId, page.nextPosition(), to);
+            range.addAll(page.questions());
+        }
+        if (range.size() < to - from) {
+            throw new IndexOutOfBoundsException("Range [%d, %d) is out of the question bank".formatted(from, to));
+        }
+        return range;
+    }
+
+    @Override
+    public BankVersion getBankVersion() {
+        String fileName = getFileName();
+        // an imported bank is never replaced, a new import gets a new id
+        return new BankVersion(fileName, bankId(fileName));
+    }
+
+    private Stream<Question> stream(long bankId) {
+        return Stream.iterate(page(bankId, 0, Integer.MAX_VALUE), Objects::nonNull,
+                        page -> page.isLast() ? null : page(bankId, page.nextPosition(), Integer.MAX_VALUE))
+                .flatMap(page -> page.questions().stream());
+    }
+
+    private Page page(long bankId, int from, int to) {
+        int limit = questionBankConfig.getJdbcPageSize();
+        var params = new MapSqlParameterSource()
+                .addValue("bank_id", bankId)
+                .addValue("from", from)
+                .addValue("to", to)
+                .addValue("limit", limit);
+        return jdbc.query(PAGE_SQL, params, new PageResultSetExtractor(limit));
+    }
+
+    private long bankId(String fileName) {
+        return bankIds.computeIfAbsent(fileName, importer::importBank);
+    }
+
+    private String getFileName() {
+        String fileName = fileNameProvider.getTestFileName();
+        if (fileName == null || fileName.trim().isEmpty()) {
+            throw new QuestionReadException("File name is not provided");
+        }
+        return fileName;
+    }
+
+    private record Page(List<Question> questions, int nextPosition, boolean isLast) {
+    }
+
+    @RequiredArgsConstructor
+    private static class PageResultSetExtractor implements ResultSetExtractor<Page> {
+
+        private final int limit;
+
+        @Override
+        public Page extractData(ResultSet rs) throws SQLException, DataAccessException {
+            List<Question> questions = new ArrayList<>(limit);
+            List<Answer> answers = new ArrayList<>();
+            String text = null;
+            int position = -1;
+            while (rs.next()) {
+                int rowPosition = rs.getInt("position");
+                if (text == null || rowPosition != position) {
+                    if (text != null) {
+                        questions.add(new Question(text, List.copyOf(answers)));
+                        answers.clear();
+                    }
+                    position = rowPosition;
+                    text = rs.getString("text");
+                }
+                String answerText = rs.getString("answer_text");
+                if (answerText != null) {
+                    answers.add(new Answer(answerText, rs.getBoolean("answer_correct")));
+                }
+            }
+            if (text != null) {
+                questions.add(new Question(text, List.copyOf(answers)));
+            }
+            return new Page(questions, position + 1, questions.size() < limit);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package ru.otus.hw.dao;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.otus.hw.config.TestFileNameProvider;
+import ru.otus.hw.dao.binary.BinaryQuestionBank;
+import ru.otus.hw.dao.binary.BinaryQuestionBankCompiler;
+import ru.otus.hw.domain.Question;
+import ru.otus.hw.exceptions.QuestionReadException;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@RequiredArgsConstructor
+@Component
+@ConditionalOnProperty(prefix = "test", name = "dao", havingValue = "binary")
+public class MappedQuestionDao implements QuestionDao {
+
+    private final TestFileNameProvider fileNameProvider;
+
+    private final BinaryQuestionBankCompiler compiler;
+
+    private final Map<String, MappedBank> banks = new ConcurrentHashMap<>();
+
+    @Override
+    public List<Question> findAll() {
+        return findAll(getFileName());
+    }
+
+    @Override
+    public List<Question> findAll(String fileName) {
+        var source = sourceStateOf(fileName);
+        return banks.compute(fileName, (name, mapped) ->
+                mapped != null && mapped.source().equals(source) ? mapped : new MappedBank(map(name), source))
+                .bank();
+    }
+
+    @Override
+    public boolean isCaching() {
+        return true;
+    }
+
+    @Override
+    public BankVersion getBankVersion() {
+        String fileName = getFileName();
+        return new BankVersion(fileName, sourceStateOf(fileName).lastModifiedMillis());
+    }
+
+    private String getFileName() {
+        String fileName = fileNameProvider.getTestFileName();
+        if (fileName == null || fileName.trim().isEmpty()) {
+            throw new QuestionReadException("File name is not provided");
+        }
+        return fileName;
+    }
+
+    private static SourceState sourceStateOf(String fileName) {
+        // Resources packed into a jar cannot change while the application runs
+        return QuestionResources.resolveFile(fileName)
+                .map(MappedQuestionDao::stateOf)
+                .orElse(SourceState.UNKNOWN);
+    }
+
+    private static SourceState stateOf(Path path) {
+        try {
+            var attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            return new SourceState(attributes.size(), attributes.lastModifiedTime().toMillis());
+        } catch (IOException e) {
+            return SourceState.UNKNOWN;
+        }
+    }
+
+    private BinaryQuestionBank map(String fileName) {
+        var compiled = compiler.compile(fileName);
+        try (var channel = FileChannel.open(compiled, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new QuestionReadException("Compiled question bank is too large to map: " + compiled);
+            }
+            return new BinaryQuestionBank(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException e) {
+            throw new QuestionReadException("Error mapping question bank " + compiled, e);
+        }
+    }
+
+    private record SourceState(long size, long lastModifiedMillis) {
+
+        static final SourceState UNKNOWN = new SourceState(-1, -1);
+    }
+
+    private record MappedBank(BinaryQuestionBank bank, SourceState source) {
+    }
+}
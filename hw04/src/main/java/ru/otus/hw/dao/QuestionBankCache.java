@@ -0,0 +1,199 @@
+package ru.otus.hw.dao;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import ru.otus.hw.dao.binary.BinaryQuestionBank;
+import ru.otus.hw.domain.Question;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+@Slf4j
+@Component
+public class QuestionBankCache implements DisposableBean {
+
+    private static final Duration DEFAULT_QUIET_PERIOD = Duration.ofMillis(500);
+
+    private final Map<String, List<Question>> snapshots = new ConcurrentHashMap<>();
+
+    private final Map<String, Function<String, List<Question>>> loaders = new ConcurrentHashMap<>();
+
+    private final Map<Path, String> fileNamesByPath = new ConcurrentHashMap<>();
+
+    private final Map<String, Long> generations = new ConcurrentHashMap<>();
+
+    private final long quietPeriodNanos;
+
+    private WatchService watchService;
+
+    public QuestionBankCache() {
+        this(DEFAULT_QUIET_PERIOD);
+    }
+
+    /**
+     * @param quietPeriod how long a changed file must keep its size and modification time before it is reloaded,
+     *                    so a bank that is still being written is not parsed half way
+     */
+    public QuestionBankCache(Duration quietPeriod) {
+        this.quietPeriodNanos = quietPeriod.toNanos();
+    }
+
+    public List<Question> get(String fileName, Function<String, List<Question>> loader) {
+        var snapshot = snapshots.get(fileName);
+        if (snapshot != null) {
+            return snapshot;
+        }
+        return snapshots.computeIfAbsent(fileName, name -> {
+            var loaded = snapshotOf(loader.apply(name));
+            loaders.put(name, loader);
+            watch(name);
+            return loaded;
+        });
+    }
+
+    /**
+     * Drops the snapshot so the next {@link #get} loads the bank again, the file stays watched.
+     */
+    public void evict(String fileName) {
+        snapshots.remove(fileName);
+        nextGeneration(fileName);
+    }
+
+    /**
+     * Counts the snapshots of the bank that were replaced or evicted, it is bumped after the new snapshot is in place.
+     */
+    public long getGeneration(String fileName) {
+        return generations.getOrDefault(fileName, 0L);
+    }
+
+    @Override
+    public synchronized void destroy() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+            watchService = null;
+        }
+    }
+
+    private void watch(String fileName) {
+        var resolved = QuestionResources.resolveFile(fileName);
+        if (resolved.isEmpty()) {
+            return;
+        }
+        var path = resolved.get();
+        try {
+            path.getParent().register(ensureWatcherStarted(),
+                    StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            fileNamesByPath.put(path, fileName);
+        } catch (IOException e) {
+            log.warn("Changes of {} will not be tracked", path, e);
+        }
+    }
+
+    private synchronized WatchService ensureWatcherStarted() throws IOException {
+        if (watchService == null) {
+            var service = FileSystems.getDefault().newWatchService();
+            var watcher = new Thread(() -> processEvents(service), "question-bank-watcher");
+            watchService = service;
+            watcher.setDaemon(true);
+            watcher.start();
+        }
+        return watchService;
+    }
+
+    private void processEvents(WatchService service) {
+        Map<Path, PendingChange> pending = new HashMap<>();
+        try {
+            while (true) {
+                WatchKey key = pending.isEmpty() ? service.take()
+                        : service.poll(quietPeriodNanos / 2 + 1, TimeUnit.NANOSECONDS);
+                if (key != null) {
+                    collectChanges(key, pending);
+                }
+                reloadSettled(pending);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            log.debug("Question bank watcher stopped");
+        }
+    }
+
+    private void collectChanges(WatchKey key, Map<Path, PendingChange> pending) {
+        var dir = (Path) key.watchable();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.context() instanceof Path changed) {
+                var path = dir.resolve(changed);
+                if (fileNamesByPath.containsKey(path)) {
+                    pending.put(path, new PendingChange(stateOf(path), System.nanoTime()));
+                }
+            }
+        }
+        key.reset();
+    }
+
+    private void reloadSettled(Map<Path, PendingChange> pending) {
+        var iterator = pending.entrySet().iterator();
+        while (iterator.hasNext()) {
+            var entry = iterator.next();
+            var state = stateOf(entry.getKey());
+            if (!Objects.equals(state, entry.getValue().state())) {
+                entry.setValue(new PendingChange(state, System.nanoTime()));
+            } else if (System.nanoTime() - entry.getValue().since() >= quietPeriodNanos) {
+                iterator.remove();
+                reload(fileNamesByPath.get(entry.getKey()));
+            }
+        }
+    }
+
+    private static FileState stateOf(Path path) {
+        try {
+            var attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            return new FileState(attributes.size(), attributes.lastModifiedTime().toMillis());
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static List<Question> snapshotOf(List<Question> questions) {
+        // an off-heap bank is already an unmodifiable view, copying it would decode every question onto the heap
+        return questions instanceof BinaryQuestionBank ? questions : List.copyOf(questions);
+    }
+
+    private void reload(String fileName) {
+        var loader = loaders.get(fileName);
+        try {
+            snapshots.put(fileName, snapshotOf(loader.apply(fileName)));
+            nextGeneration(fileName);
+            log.info("Question bank {} reloaded", fileName);
+        } catch (RuntimeException e) {
+            log.warn("Question bank {} was not reloaded, keeping the previous snapshot", fileName, e);
+        }
+    }
+
+    private void nextGeneration(String fileName) {
+        generations.merge(fileName, 1L, Long::sum);
+    }
+
+    private record FileState(long size, long lastModifiedMillis) {
+    }
+
+    private record PendingChange(FileState state, long since) {
+    }
+}
@@ -0,0 +1,96 @@
+package ru.otus.hw.dao;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.otus.hw.config.TestFileNameProvider;
+import ru.otus.hw.exceptions.QuestionReadException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "test", name = "preload", havingValue = "true")
+public class QuestionBankPreloader implements SmartInitializingSingleton {
+
+    private final TestFileNameProvider fileNameProvider;
+
+    private final QuestionDao questionDao;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!questionDao.isCaching()) {
+            log.warn("Question banks are not preloaded: {} does not serve sessions from loaded banks,"
+                    + " set test.cacheQuestions=true to preload them", questionDao.getClass().getSimpleName());
+            return;
+        }
+        Map<Locale, String> fileNameByLocale = fileNameProvider.getTestFileNameByLocale();
+        var fileNames = new LinkedHashSet<>(fileNameByLocale.values());
+        int threads = Math.min(fileNames.size(), Runtime.getRuntime().availableProcessors());
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(threads, 1), newThreadFactory());
+        try {
+            List<CompletableFuture<Void>> loads = new ArrayList<>();
+            for (String fileName : fileNames) {
+                loads.add(CompletableFuture.runAsync(() -> preload(fileName), executor));
+            }
+            awaitAll(loads);
+        } finally {
+            executor.shutdownNow();
+        }
+        log.info("Question banks preloaded for locales {}", fileNameByLocale.keySet());
+    }
+
+    private void preload(String fileName) {
+        long startedAt = System.nanoTime();
+        int count = questionDao.findAll(fileName).size();
+        log.info("Question bank {} preloaded: {} questions in {} ms", fileName, count,
+                (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    private void awaitAll(List<CompletableFuture<Void>> loads) {
+        try {
+            CompletableFuture.anyOf(
+                    CompletableFuture.allOf(loads.toArray(CompletableFuture[]::new)),
+                    firstFailure(loads)
+            ).join();
+        } catch (CompletionException e) {
+            loads.forEach(load -> load.cancel(true));
+            if (e.getCause() instanceof QuestionReadException questionReadException) {
+                throw questionReadException;
+            }
+            throw new QuestionReadException("Error preloading question banks", e.getCause());
+        }
+    }
+
+    private CompletableFuture<Void> firstFailure(List<CompletableFuture<Void>> loads) {
+        var failure = new CompletableFuture<Void>();
+        loads.forEach(load -> load.whenComplete((result, error) -> {
+            if (error != null) {
+                failure.completeExceptionally(error);
+            }
+        }));
+        return failure;
+    }
+
+    private static ThreadFactory newThreadFactory() {
+        var counter = new AtomicInteger();
+        return runnable -> {
+            var thread = new Thread(runnable, "question-bank-preloader-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
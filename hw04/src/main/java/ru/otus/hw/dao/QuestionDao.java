@@ -3,7 +3,45 @@ package ru.otus.hw.dao;
 import ru.otus.hw.domain.Question;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface QuestionDao {
     List<Question> findAll();
+
+    List<Question> findAll(String fileName);
+
+    default Stream<Question> stream() {
+        return findAll().stream();
+    }
+
+    default int count() {
+        return findAll().size();
+    }
+
+    default Question findByIndex(int index) {
+        return findAll().get(index);
+    }
+
+    default List<Question> findRange(int from, int to) {
+        return findAll().subList(from, to);
+    }
+
+    default boolean isIndexed() {
+        return true;
+    }
+
+    /**
+     * Whether sessions are served from the banks {@link #findAll(String)} keeps loaded,
+     * otherwise loading a bank ahead of time is wasted work.
+     */
+    default boolean isCaching() {
+        return false;
+    }
+
+    /**
+     * The version of the bank {@link #findAll()} serves now, another locale or a reloaded file gives another one.
+     */
+    default BankVersion getBankVersion() {
+        return BankVersion.FIXED;
+    }
 }
@@ -0,0 +1,113 @@
+package ru.otus.hw.dao;
+
+import org.springframework.stereotype.Component;
+import ru.otus.hw.domain.Answer;
+import ru.otus.hw.domain.Question;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Shares one instance of identical answer texts, answers and answer lists across all loaded banks.
+ * Canonical instances are weakly referenced, they live as long as some loaded question uses them.
+ */
+@Component
+public class QuestionInterner {
+
+    private static final int OBJECT_HEADER = 12;
+
+    private static final int ARRAY_HEADER = 16;
+
+    private static final int REFERENCE = 4;
+
+    private static final int ALIGNMENT = 8;
+
+    private static final long STRING_SHALLOW = align(OBJECT_HEADER + REFERENCE + Integer.BYTES + 2);
+
+    private static final long ANSWER_SHALLOW = align(OBJECT_HEADER + REFERENCE + 1);
+
+    private static final long LIST_SHALLOW = align(OBJECT_HEADER + REFERENCE + Integer.BYTES);
+
+    // WeakHashMap.Entry (a reference with value, hash and next), the WeakReference value
+    // and the entry's table slot at the worst-case load factor
+    private static final long ENTRY_OVERHEAD = align(OBJECT_HEADER + 6 * REFERENCE + Integer.BYTES)
+            + align(OBJECT_HEADER + 4 * REFERENCE) + 2 * REFERENCE;
+
+    private final WeakInternTable<String> texts = new WeakInternTable<>();
+
+    private final WeakInternTable<Answer> answers = new WeakInternTable<>();
+
+    private final WeakInternTable<List<Answer>> answerLists = new WeakInternTable<>();
+
+    private final LongAdder savedBytes = new LongAdder();
+
+    private final LongAdder entryBytes = new LongAdder();
+
+    public Question intern(Question question) {
+        return new Question(question.text(), internAnswers(question.answers()));
+    }
+
+    /**
+     * Returns the estimated heap saved by all interning so far, net of the intern table entries it created.
+     * The value is negative while the interned banks hold few duplicates. It is an estimate: the
+     * {@code QuestionInternerBenchmark} measures the heap retained by loaded banks with and without interning.
+     */
+    public long getSavedBytes() {
+        return savedBytes.sum() - entryBytes.sum();
+    }
+
+    private List<Answer> internAnswers(List<Answer> source) {
+        List<Answer> interned = new ArrayList<>(source.size());
+        for (Answer answer : source) {
+            interned.add(intern(answer));
+        }
+        var candidate = List.copyOf(interned);
+        var canonical = answerLists.intern(candidate);
+        if (canonical == candidate) {
+            entryBytes.add(ENTRY_OVERHEAD);
+            return candidate;
+        }
+        savedBytes.add(LIST_SHALLOW + align(ARRAY_HEADER + (long) REFERENCE * source.size()));
+        return canonical;
+    }
+
+    private Answer intern(Answer answer) {
+        var canonical = answers.get(answer);
+        if (canonical != null) {
+            savedBytes.add(ANSWER_SHALLOW + footprint(answer.text()));
+            return canonical;
+        }
+        var interned = new Answer(intern(answer.text()), answer.isCorrect());
+        canonical = answers.intern(interned);
+        if (canonical == interned) {
+            entryBytes.add(ENTRY_OVERHEAD);
+        }
+        return canonical;
+    }
+
+    private String intern(String text) {
+        var canonical = texts.intern(text);
+        if (canonical == text) {
+            entryBytes.add(ENTRY_OVERHEAD);
+            return text;
+        }
+        savedBytes.add(footprint(text));
+        return canonical;
+    }
+
+    private static long footprint(String text) {
+        int bytesPerChar = 1;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > 0xFF) {
+                bytesPerChar = 2;
+                break;
+            }
+        }
+        return STRING_SHALLOW + align(ARRAY_HEADER + (long) bytesPerChar * text.length());
+    }
+
+    private static long align(long size) {
+        return (size + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+    }
+}
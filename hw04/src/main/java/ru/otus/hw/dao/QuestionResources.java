@@ -0,0 +1,98 @@
+package ru.otus.hw.dao;
+
+import ru.otus.hw.exceptions.QuestionReadException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+
+public final class QuestionResources {
+
+    private static final String GZIP_SUFFIX = ".gz";
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private QuestionResources() {
+    }
+
+    public static Optional<Path> resolveFile(String fileName) {
+        URL resource = QuestionResources.class.getClassLoader().getResource(fileName);
+        if (resource == null) {
+            return fileSystemPath(fileName);
+        }
+        if (!"file".equals(resource.getProtocol())) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Path.of(resource.toURI()).toAbsolutePath());
+        } catch (URISyntaxException e) {
+            return Optional.empty();
+        }
+    }
+
+    public static Path cacheFile(String cacheDir, String fileName, String suffix) {
+        if (cacheDir == null || cacheDir.isBlank()) {
+            cacheDir = System.getProperty("java.io.tmpdir");
+        }
+        Path source = Path.of(fileName);
+        if (source.isAbsolute()) {
+            source = source.getRoot().relativize(source);
+        }
+        return Path.of(cacheDir).resolve(source + suffix);
+    }
+
+    public static boolean isCompressed(String fileName) {
+        return fileName.endsWith(GZIP_SUFFIX);
+    }
+
+    public static InputStream open(String fileName) {
+        InputStream inputStream = openRaw(fileName);
+        if (!isCompressed(fileName)) {
+            return inputStream;
+        }
+        try {
+            return new GZIPInputStream(inputStream, GZIP_BUFFER_SIZE);
+        } catch (IOException e) {
+            closeQuietly(inputStream, e);
+            throw new QuestionReadException("Error reading compressed CSV file " + fileName, e);
+        }
+    }
+
+    private static InputStream openRaw(String fileName) {
+        ClassLoader classLoader = QuestionResources.class.getClassLoader();
+        InputStream resourceStream = classLoader.getResourceAsStream(fileName);
+        if (resourceStream != null) {
+            return resourceStream;
+        }
+        var path = fileSystemPath(fileName)
+                .orElseThrow(() -> new QuestionReadException("Resource not found: " + fileName));
+        try {
+            return Files.newInputStream(path);
+        } catch (IOException e) {
+            throw new QuestionReadException("Error reading CSV file " + path, e);
+        }
+    }
+
+    private static void closeQuietly(InputStream inputStream, IOException failure) {
+        try {
+            inputStream.close();
+        } catch (IOException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    private static Optional<Path> fileSystemPath(String fileName) {
+        try {
+            var path = Path.of(fileName).toAbsolutePath();
+            return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+        } catch (InvalidPathException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package ru.otus.hw.dao;
+
+import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Canonical instances held through weak references: an entry goes away once no loaded bank uses its value,
+ * so a reloaded bank releases the texts only it referenced. The table is split into independently locked
+ * stripes, parallel chunked loads do not serialize on one lock.
+ */
+final class WeakInternTable<T> {
+
+    private static final int STRIPES = 16;
+
+    private final List<Map<T, WeakReference<T>>> stripes = Stream.<Map<T, WeakReference<T>>>generate(WeakHashMap::new)
+            .limit(STRIPES)
+            .toList();
+
+    T get(T value) {
+        var stripe = stripeOf(value);
+        synchronized (stripe) {
+            var reference = stripe.get(value);
+            return reference == null ? null : reference.get();
+        }
+    }
+
+    /**
+     * Returns the canonical instance equal to {@code value}, that is {@code value} itself if it became canonical.
+     */
+    T intern(T value) {
+        var stripe = stripeOf(value);
+        synchronized (stripe) {
+            var reference = stripe.get(value);
+            var canonical = reference == null ? null : reference.get();
+            if (canonical == null) {
+                stripe.put(value, new WeakReference<>(value));
+                return value;
+            }
+            return canonical;
+        }
+    }
+
+    private Map<T, WeakReference<T>> stripeOf(Object value) {
+        int hash = value.hashCode();
+        return stripes.get((hash ^ (hash >>> 16)) & (STRIPES - 1));
+    }
+}
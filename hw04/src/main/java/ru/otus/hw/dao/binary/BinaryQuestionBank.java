@@ -0,0 +1,78 @@
+package ru.otus.hw.dao.binary;
+
+import ru.otus.hw.domain.Answer;
+import ru.otus.hw.domain.Question;
+import ru.otus.hw.exceptions.QuestionReadException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+
+public class BinaryQuestionBank extends AbstractList<Question> implements RandomAccess {
+
+    private final ByteBuffer buffer;
+
+    private final int size;
+
+    private final int offsetsPosition;
+
+    public BinaryQuestionBank(ByteBuffer buffer) {
+        if (!hasValidHeader(buffer)) {
+            throw new QuestionReadException("Not a compiled question bank");
+        }
+        this.buffer = buffer;
+        this.size = buffer.getInt(BinaryQuestionBankFormat.COUNT_POSITION);
+        this.offsetsPosition = Math.toIntExact(buffer.getLong(BinaryQuestionBankFormat.OFFSETS_POSITION));
+    }
+
+    public static byte[] sourceHash(ByteBuffer buffer) {
+        if (!hasValidHeader(buffer)) {
+            return new byte[0];
+        }
+        byte[] hash = new byte[BinaryQuestionBankFormat.HASH_LENGTH];
+        buffer.get(BinaryQuestionBankFormat.HASH_POSITION, hash);
+        return hash;
+    }
+
+    private static boolean hasValidHeader(ByteBuffer buffer) {
+        return buffer.limit() >= BinaryQuestionBankFormat.HEADER_SIZE
+                && buffer.getInt(0) == BinaryQuestionBankFormat.MAGIC
+                && buffer.getInt(Integer.BYTES) == BinaryQuestionBankFormat.VERSION;
+    }
+
+    @Override
+    public Question get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        int position = Math.toIntExact(buffer.getLong(offsetsPosition + index * Long.BYTES));
+        int textLength = buffer.getInt(position);
+        String text = decode(position + Integer.BYTES, textLength);
+        position += Integer.BYTES + textLength;
+
+        int answerCount = buffer.getShort(position);
+        position += Short.BYTES;
+        List<Answer> answers = new ArrayList<>(answerCount);
+        for (int i = 0; i < answerCount; i++) {
+            boolean isCorrect = buffer.get(position) != 0;
+            int answerLength = buffer.getInt(position + Byte.BYTES);
+            answers.add(new Answer(decode(position + Byte.BYTES + Integer.BYTES, answerLength), isCorrect));
+            position += Byte.BYTES + Integer.BYTES + answerLength;
+        }
+        return new Question(text, answers);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private String decode(int position, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(position, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
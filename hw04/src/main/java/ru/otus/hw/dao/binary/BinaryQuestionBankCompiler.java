@@ -0,0 +1,99 @@
+package ru.otus.hw.dao.binary;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ru.otus.hw.config.QuestionBankConfig;
+import ru.otus.hw.dao.QuestionResources;
+import ru.otus.hw.dao.parser.QuestionParser;
+import ru.otus.hw.domain.Question;
+import ru.otus.hw.exceptions.QuestionReadException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Iterator;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BinaryQuestionBankCompiler {
+
+    private static final String EXTENSION = ".qbank";
+
+    private final QuestionBankConfig questionBankConfig;
+
+    private final QuestionParser questionParser;
+
+    public Path compile(String fileName) {
+        byte[] sourceHash = hashOf(fileName);
+        Path target = QuestionResources.cacheFile(questionBankConfig.getBankCacheDir(), fileName, EXTENSION);
+        if (Arrays.equals(sourceHash, compiledHashOf(target))) {
+            return target;
+        }
+        long startedAt = System.nanoTime();
+        try {
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+            try {
+                write(fileName, sourceHash, temp);
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new QuestionReadException("Error compiling question bank " + fileName, e);
+        }
+        log.info("Question bank {} compiled to {} in {} ms", fileName, target,
+                (System.nanoTime() - startedAt) / 1_000_000);
+        return target;
+    }
+
+    private void write(String fileName, byte[] sourceHash, Path target) throws IOException {
+        try (InputStream inputStream = QuestionResources.open(fileName);
+             var writer = new BinaryQuestionBankWriter(target)) {
+            Iterator<Question> questions = questionParser.parse(inputStream).iterator();
+            while (questions.hasNext()) {
+                writer.append(questions.next());
+            }
+            writer.finish(sourceHash);
+        }
+    }
+
+    private byte[] hashOf(String fileName) {
+        try (var inputStream = new DigestInputStream(QuestionResources.open(fileName), newDigest())) {
+            inputStream.transferTo(OutputStream.nullOutputStream());
+            return inputStream.getMessageDigest().digest();
+        } catch (IOException e) {
+            throw new QuestionReadException("Error reading CSV file", e);
+        }
+    }
+
+    private byte[] compiledHashOf(Path compiled) {
+        if (!Files.isRegularFile(compiled)) {
+            return new byte[0];
+        }
+        try (InputStream inputStream = Files.newInputStream(compiled)) {
+            return BinaryQuestionBank.sourceHash(
+                    ByteBuffer.wrap(inputStream.readNBytes(BinaryQuestionBankFormat.HEADER_SIZE)));
+        } catch (IOException e) {
+            return new byte[0];
+        }
+    }
+
+    private MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
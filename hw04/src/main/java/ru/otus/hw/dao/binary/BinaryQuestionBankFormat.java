@@ -0,0 +1,29 @@
+package ru.otus.hw.dao.binary;
+
+/**
+ * Layout of a compiled question bank, all numbers big-endian:
+ * <pre>
+ * header:  magic(4) version(4) sourceHash(32) questionCount(4) offsetsPosition(8)
+ * records: textLength(4) text(utf-8) answerCount(2) { isCorrect(1) textLength(4) text(utf-8) }...
+ * offsets: recordPosition(8) per question
+ * </pre>
+ */
+public final class BinaryQuestionBankFormat {
+
+    public static final int MAGIC = 0x51424E4B;
+
+    public static final int VERSION = 1;
+
+    public static final int HASH_LENGTH = 32;
+
+    public static final int HASH_POSITION = 8;
+
+    public static final int COUNT_POSITION = HASH_POSITION + HASH_LENGTH;
+
+    public static final int OFFSETS_POSITION = COUNT_POSITION + Integer.BYTES;
+
+    public static final int HEADER_SIZE = OFFSETS_POSITION + Long.BYTES;
+
+    private BinaryQuestionBankFormat() {
+    }
+}
@@ -0,0 +1,82 @@
+package ru.otus.hw.dao.binary;
+
+import ru.otus.hw.domain.Answer;
+import ru.otus.hw.domain.Question;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+public class BinaryQuestionBankWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final FileChannel channel;
+
+    private final DataOutputStream output;
+
+    private long[] offsets = new long[1024];
+
+    private int count;
+
+    private long position = BinaryQuestionBankFormat.HEADER_SIZE;
+
+    public BinaryQuestionBankWriter(Path target) throws IOException {
+        this.channel = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        channel.position(BinaryQuestionBankFormat.HEADER_SIZE);
+        this.output = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE));
+    }
+
+    public void append(Question question) throws IOException {
+        if (count == offsets.length) {
+            offsets = Arrays.copyOf(offsets, count * 2);
+        }
+        offsets[count++] = position;
+        position += writeText(question.text());
+        output.writeShort(question.answers().size());
+        position += Short.BYTES;
+        for (Answer answer : question.answers()) {
+            output.writeByte(answer.isCorrect() ? 1 : 0);
+            position += Byte.BYTES + writeText(answer.text());
+        }
+    }
+
+    public void finish(byte[] sourceHash) throws IOException {
+        long offsetsPosition = position;
+        for (int i = 0; i < count; i++) {
+            output.writeLong(offsets[i]);
+        }
+        output.flush();
+
+        var header = ByteBuffer.allocate(BinaryQuestionBankFormat.HEADER_SIZE)
+                .putInt(BinaryQuestionBankFormat.MAGIC)
+                .putInt(BinaryQuestionBankFormat.VERSION)
+                .put(sourceHash)
+                .putInt(count)
+                .putLong(offsetsPosition)
+                .flip();
+        channel.write(header, 0);
+        channel.force(false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        output.close();
+    }
+
+    private int writeText(String text) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+        return Integer.BYTES + bytes.length;
+    }
+}
@@ -0,0 +1,79 @@
+package ru.otus.hw.dao.binary;
+
+import ru.otus.hw.domain.Answer;
+import ru.otus.hw.domain.Question;
+import ru.otus.hw.exceptions.QuestionReadException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Writes questions in the compiled bank layout into a direct buffer outside the Java heap.
+ * The buffer doubles while questions are appended, so growing it briefly takes up to three times the size
+ * of the bank. {@link #finish()} returns a slice of the grown buffer instead of copying it, the bank keeps
+ * the whole buffer and up to half of it can stay unused.
+ */
+public class DirectQuestionBankWriter {
+
+    private static final int INITIAL_CAPACITY = 64 * 1024;
+
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(INITIAL_CAPACITY)
+            .position(BinaryQuestionBankFormat.HEADER_SIZE);
+
+    private long[] offsets = new long[1024];
+
+    private int count;
+
+    public void append(Question question) {
+        if (count == offsets.length) {
+            offsets = Arrays.copyOf(offsets, count * 2);
+        }
+        offsets[count++] = buffer.position();
+        putText(question.text());
+        ensureCapacity(Short.BYTES);
+        buffer.putShort((short) question.answers().size());
+        for (Answer answer : question.answers()) {
+            ensureCapacity(Byte.BYTES);
+            buffer.put((byte) (answer.isCorrect() ? 1 : 0));
+            putText(answer.text());
+        }
+    }
+
+    public BinaryQuestionBank finish() {
+        int offsetsPosition = buffer.position();
+        ensureCapacity((long) count * Long.BYTES);
+        for (int i = 0; i < count; i++) {
+            buffer.putLong(offsets[i]);
+        }
+        var bank = buffer.slice(0, buffer.position());
+        bank.putInt(BinaryQuestionBankFormat.MAGIC)
+                .putInt(BinaryQuestionBankFormat.VERSION)
+                .put(new byte[BinaryQuestionBankFormat.HASH_LENGTH])
+                .putInt(count)
+                .putLong(offsetsPosition);
+        return new BinaryQuestionBank(bank.clear());
+    }
+
+    private void putText(String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        ensureCapacity(Integer.BYTES + bytes.length);
+        buffer.putInt(bytes.length).put(bytes);
+    }
+
+    private void ensureCapacity(long bytes) {
+        long required = buffer.position() + bytes;
+        if (required <= buffer.capacity()) {
+            return;
+        }
+        if (required > MAX_CAPACITY) {
+            throw new QuestionReadException("Question bank does not fit into a direct buffer: " + required + " bytes");
+        }
+        int capacity = (int) Math.min(MAX_CAPACITY, Math.max(required, buffer.capacity() * 2L));
+        var grown = ByteBuffer.allocateDirect(capacity);
+        grown.put(buffer.flip());
+        buffer = grown;
+    }
+}
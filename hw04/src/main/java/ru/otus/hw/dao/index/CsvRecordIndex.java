@@ -0,0 +1,299 @@
+package ru.otus.hw.dao.index;
+
+import ru.otus.hw.dao.parser.PlainQuestionParser;
+import ru.otus.hw.domain.Question;
+import ru.otus.hw.exceptions.QuestionReadException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sidecar index with the byte offset of every record of a question CSV.
+ * <pre>
+ * header:  magic(4) version(4) csvSize(8) csvModifiedMillis(8) recordCount(4)
+ * offsets: recordStart(8) per record, followed by the CSV size
+ * </pre>
+ * An open index is shared by concurrent readers: each read is bracketed by {@link #acquire()} and
+ * {@link #release()}, and {@link #close()} only retires the index, the CSV channel is closed after the last
+ * reader releases it.
+ */
+public class CsvRecordIndex implements Closeable {
+
+    private static final int MAGIC = 0x51494458;
+
+    private static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = 2 * Integer.BYTES + 2 * Long.BYTES + Integer.BYTES;
+
+    private static final int COUNT_POSITION = HEADER_SIZE - Integer.BYTES;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path csv;
+
+    private final FileChannel channel;
+
+    private final LongBuffer offsets;
+
+    private final int size;
+
+    private final long csvSize;
+
+    private final long csvModifiedMillis;
+
+    // readers plus one reference held by the owner until close()
+    private final AtomicInteger references = new AtomicInteger(1);
+
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private volatile long checkedAtNanos = System.nanoTime();
+
+    private CsvRecordIndex(Path csv, ByteBuffer index) throws IOException {
+        this.csv = csv;
+        this.csvSize = index.getLong(2 * Integer.BYTES);
+        this.csvModifiedMillis = index.getLong(2 * Integer.BYTES + Long.BYTES);
+        this.size = index.getInt(COUNT_POSITION);
+        this.offsets = index.position(HEADER_SIZE).slice().asLongBuffer();
+        this.channel = FileChannel.open(csv, StandardOpenOption.READ);
+    }
+
+    public static CsvRecordIndex open(Path csv, Path indexFile) {
+        try {
+            long csvSize = Files.size(csv);
+            long csvModifiedMillis = Files.getLastModifiedTime(csv).toMillis();
+            var index = map(indexFile);
+            if (index == null || !matches(index, csvSize, csvModifiedMillis)) {
+                build(csv, indexFile, csvSize, csvModifiedMillis);
+                index = map(indexFile);
+            }
+            return new CsvRecordIndex(csv, index);
+        } catch (IOException e) {
+            throw new QuestionReadException("Error indexing CSV file " + csv, e);
+        }
+    }
+
+    public boolean isStale() {
+        try {
+            return Files.size(csv) != csvSize || Files.getLastModifiedTime(csv).toMillis() != csvModifiedMillis;
+        } catch (IOException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Same as {@link #isStale()}, but reads the CSV attributes at most once per {@code checkInterval}
+     * and assumes the index is current in between.
+     */
+    public boolean isStale(Duration checkInterval) {
+        long now = System.nanoTime();
+        if (now - checkedAtNanos < checkInterval.toNanos()) {
+            return false;
+        }
+        checkedAtNanos = now;
+        return isStale();
+    }
+
+    /**
+     * Registers a reader, returns false if the index has already been closed and released by all readers.
+     */
+    public boolean acquire() {
+        int current;
+        do {
+            current = references.get();
+            if (current == 0) {
+                return false;
+            }
+        } while (!references.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    public void release() {
+        if (references.decrementAndGet() == 0) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Error closing CSV file " + csv, e);
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Question get(int index) {
+        return range(index, index + 1).get(0);
+    }
+
+    public List<Question> range(int from, int to) {
+        if (from < 0 || to > size || from > to) {
+            throw new IndexOutOfBoundsException("Range [%d, %d) is out of [0, %d)".formatted(from, to, size));
+        }
+        long start = offsets.get(from);
+        byte[] bytes = read(start, Math.toIntExact(offsets.get(to) - start));
+        List<Question> questions = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            int recordStart = (int) (offsets.get(i) - start);
+            int recordEnd = (int) (offsets.get(i + 1) - start);
+            questions.add(PlainQuestionParser.parseRecord(bytes, recordStart, lineEnd(bytes, recordStart, recordEnd)));
+        }
+        return questions;
+    }
+
+    @Override
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            release();
+        }
+    }
+
+    private byte[] read(long position, int length) {
+        var buffer = ByteBuffer.allocate(length);
+        try {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, position + buffer.position()) < 0) {
+                    throw new QuestionReadException("CSV file was truncated: " + csv);
+                }
+            }
+        } catch (IOException e) {
+            throw new QuestionReadException("Error reading CSV file " + csv, e);
+        }
+        return buffer.array();
+    }
+
+    private static int lineEnd(byte[] bytes, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (bytes[i] == '\n') {
+                return i;
+            }
+        }
+        return to;
+    }
+
+    private static ByteBuffer map(Path indexFile) throws IOException {
+        if (!Files.isRegularFile(indexFile)) {
+            return null;
+        }
+        try (var channel = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE) {
+                return null;
+            }
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    private static boolean matches(ByteBuffer index, long csvSize, long csvModifiedMillis) {
+        return index.getInt(0) == MAGIC
+                && index.getInt(Integer.BYTES) == VERSION
+                && index.getLong(2 * Integer.BYTES) == csvSize
+                && index.getLong(2 * Integer.BYTES + Long.BYTES) == csvModifiedMillis
+                && index.capacity() == HEADER_SIZE + (index.getInt(COUNT_POSITION) + 1L) * Long.BYTES;
+    }
+
+    private static void build(Path csv, Path indexFile, long csvSize, long csvModifiedMillis) throws IOException {
+        Files.createDirectories(indexFile.toAbsolutePath().getParent());
+        Path temp = Files.createTempFile(indexFile.toAbsolutePath().getParent(), indexFile.getFileName().toString(),
+                ".tmp");
+        try {
+            try (var source = FileChannel.open(csv, StandardOpenOption.READ);
+                 var writer = new OffsetWriter(temp)) {
+                scan(source, writer);
+                writer.finish(csvSize, csvModifiedMillis);
+            }
+            Files.move(temp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void scan(FileChannel source, OffsetWriter writer) throws IOException {
+        var buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        long position = 0;
+        long lineStart = 0;
+        boolean header = true;
+        boolean blank = true;
+        while (source.read(buffer.clear()) >= 0) {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                byte value = buffer.get();
+                if (value == '\n') {
+                    if (!header && !blank) {
+                        writer.append(lineStart);
+                    }
+                    header = false;
+                    blank = true;
+                    lineStart = position + 1;
+                } else if (value != ' ' && value != '\t' && value != '\r') {
+                    blank = false;
+                }
+                position++;
+            }
+        }
+        if (!header && !blank) {
+            writer.append(lineStart);
+        }
+    }
+
+    private static class OffsetWriter implements Closeable {
+
+        private final FileChannel channel;
+
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+        private int count;
+
+        OffsetWriter(Path target) throws IOException {
+            this.channel = FileChannel.open(target, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            channel.position(HEADER_SIZE);
+        }
+
+        void append(long offset) throws IOException {
+            if (buffer.remaining() < Long.BYTES) {
+                flush();
+            }
+            buffer.putLong(offset);
+            count++;
+        }
+
+        void finish(long csvSize, long csvModifiedMillis) throws IOException {
+            append(csvSize);
+            count--;
+            flush();
+            var header = ByteBuffer.allocate(HEADER_SIZE)
+                    .putInt(MAGIC)
+                    .putInt(VERSION)
+                    .putLong(csvSize)
+                    .putLong(csvModifiedMillis)
+                    .putInt(count)
+                    .flip();
+            channel.write(header, 0);
+            channel.force(false);
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+}
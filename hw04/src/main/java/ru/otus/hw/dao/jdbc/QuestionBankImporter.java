@@ -0,0 +1,115 @@
+package ru.otus.hw.dao.jdbc;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.otus.hw.config.QuestionBankConfig;
+import ru.otus.hw.dao.QuestionResources;
+import ru.otus.hw.dao.parser.QuestionParser;
+import ru.otus.hw.domain.Answer;
+import ru.otus.hw.domain.Question;
+import ru.otus.hw.exceptions.QuestionReadException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * One-time import of a CSV question bank into the {@code questions} and {@code answers} tables.
+ * The bank is parsed as a stream and written in JDBC batches of {@code jdbcPageSize} questions.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+@ConditionalOnProperty(prefix = "test", name = "dao", havingValue = "jdbc")
+public class QuestionBankImporter {
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    private final QuestionParser questionParser;
+
+    private final QuestionBankConfig questionBankConfig;
+
+    public Optional<Long> findBankId(String fileName) {
+        String sql = "SELECT id FROM question_banks WHERE file_name = :file_name";
+        List<Long> ids = jdbc.queryForList(sql, Map.of("file_name", fileName), Long.class);
+        return ids.isEmpty() ? Optional.empty() : Optional.of(ids.get(0));
+    }
+
+    @Transactional
+    public long importBank(String fileName) {
+        var existing = findBankId(fileName);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+        long startedAt = System.nanoTime();
+        long bankId = insertBank(fileName);
+        int imported = 0;
+        try (InputStream inputStream = QuestionResources.open(fileName);
+             Stream<Question> questions = questionParser.parse(inputStream)) {
+            int batchSize = questionBankConfig.getJdbcPageSize();
+            List<Question> batch = new ArrayList<>(batchSize);
+            Iterator<Question> iterator = questions.iterator();
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() == batchSize || !iterator.hasNext()) {
+                    insertQuestions(bankId, imported, batch);
+                    imported += batch.size();
+                    batch.clear();
+                }
+            }
+        } catch (IOException e) {
+            throw new QuestionReadException("Error reading CSV file", e);
+        }
+        log.info("Question bank {} imported: {} questions in {} ms", fileName, imported,
+                (System.nanoTime() - startedAt) / 1_000_000);
+        return bankId;
+    }
+
+    private long insertBank(String fileName) {
+        var keyHolder = new GeneratedKeyHolder();
+        var params = new MapSqlParameterSource("file_name", fileName);
+        jdbc.update("INSERT INTO question_banks (file_name) VALUES (:file_name)", params, keyHolder,
+                new String[]{"id"});
+        //noinspection DataFlowIssue
+        return keyHolder.getKeyAs(Long.class);
+    }
+
+    private void insertQuestions(long bankId, int firstPosition, List<Question> questions) {
+        var questionParams = new ArrayList<MapSqlParameterSource>(questions.size());
+        var answerParams = new ArrayList<MapSqlParameterSource>();
+        for (int i = 0; i < questions.size(); i++) {
+            Question question = questions.get(i);
+            int position = firstPosition + i;
+            questionParams.add(new MapSqlParameterSource()
+                    .addValue("bank_id", bankId)
+                    .addValue("position", position)
+                    .addValue("text", question.text()));
+            List<Answer> answers = question.answers();
+            for (int j = 0; j < answers.size(); j++) {
+                answerParams.add(new MapSqlParameterSource()
+                        .addValue("bank_id", bankId)
+                        .addValue("question_position", position)
+                        .addValue("position", j)
+                        .addValue("text", answers.get(j).text())
+                        .addValue("correct", answers.get(j).isCorrect()));
+            }
+        }
+        jdbc.batchUpdate("INSERT INTO questions (bank_id, position, text) VALUES (:bank_id, :position, :text)",
+                questionParams.toArray(MapSqlParameterSource[]::new));
+        jdbc.batchUpdate("""
+                INSERT INTO answers (bank_id, question_position, position, text, correct)
+                VALUES (:bank_id, :question_position, :position, :text, :correct)
+                """, answerParams.toArray(MapSqlParameterSource[]::new));
+    }
+}
@@ -0,0 +1,128 @@
+package ru.otus.hw.dao.parser;
+
+import ru.otus.hw.domain.Question;
+import ru.otus.hw.exceptions.QuestionReadException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Parses a question CSV in the {@link PlainQuestionParser} format by splitting it into byte ranges.
+ * A chunk owns the records that start inside it: it skips up to the first line break before its start
+ * (for the first chunk that is the header line) and reads past its end to finish its last record.
+ * Line breaks never occur inside UTF-8 multibyte sequences, so chunks never split a character.
+ */
+public final class ChunkedQuestionLoader {
+
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private static final long MIN_CHUNK_SIZE = 1024 * 1024;
+
+    private static final long MAX_CHUNK_SIZE = 64 * 1024 * 1024;
+
+    private static final int INITIAL_TAIL = 64 * 1024;
+
+    private ChunkedQuestionLoader() {
+    }
+
+    public static List<Question> load(Path csv, ForkJoinPool pool) {
+        return load(csv, pool, 0);
+    }
+
+    static List<Question> load(Path csv, ForkJoinPool pool, long fixedChunkSize) {
+        try (var channel = FileChannel.open(csv, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long chunkSize = fixedChunkSize > 0 ? fixedChunkSize : Math.min(MAX_CHUNK_SIZE,
+                    Math.max(MIN_CHUNK_SIZE, size / ((long) pool.getParallelism() * CHUNKS_PER_THREAD) + 1));
+            List<ForkJoinTask<List<Question>>> chunks = new ArrayList<>();
+            for (long start = 0; start < size; start += chunkSize) {
+                long chunkStart = start;
+                long chunkEnd = Math.min(size, start + chunkSize);
+                chunks.add(pool.submit(() -> parseChunk(csv, channel, size, chunkStart, chunkEnd)));
+            }
+            int total = 0;
+            List<List<Question>> parsed = new ArrayList<>(chunks.size());
+            for (ForkJoinTask<List<Question>> chunk : chunks) {
+                var questions = chunk.join();
+                parsed.add(questions);
+                total += questions.size();
+            }
+            List<Question> questions = new ArrayList<>(total);
+            parsed.forEach(questions::addAll);
+            return questions;
+        } catch (IOException e) {
+            throw new QuestionReadException("Error reading CSV file " + csv, e);
+        }
+    }
+
+    private static List<Question> parseChunk(Path csv, FileChannel channel, long size, long start, long end) {
+        long from = Math.max(0, start - 1);
+        long tail = INITIAL_TAIL;
+        while (true) {
+            long to = Math.min(size, end + tail);
+            byte[] bytes = read(csv, channel, from, Math.toIntExact(to - from));
+            var questions = parseRecords(bytes, Math.toIntExact(end - from), to == size);
+            if (questions != null) {
+                return questions;
+            }
+            tail *= 2;
+        }
+    }
+
+    /**
+     * Parses the records starting after the first line break of {@code bytes} and before {@code ownedEnd}.
+     * Returns {@code null} when more bytes are needed to find the first or to finish the last record.
+     */
+    private static List<Question> parseRecords(byte[] bytes, int ownedEnd, boolean endOfFile) {
+        int skippedEnd = indexOf(bytes, 0, bytes.length, (byte) '\n');
+        if (skippedEnd < 0) {
+            return endOfFile ? List.of() : null;
+        }
+        int position = skippedEnd + 1;
+        List<Question> questions = new ArrayList<>();
+        while (position < ownedEnd) {
+            int lineEnd = indexOf(bytes, position, bytes.length, (byte) '\n');
+            if (lineEnd < 0) {
+                if (!endOfFile) {
+                    return null;
+                }
+                lineEnd = bytes.length;
+            }
+            if (!PlainQuestionParser.isBlank(bytes, position, lineEnd)) {
+                questions.add(PlainQuestionParser.parseRecord(bytes, position, lineEnd));
+            }
+            position = lineEnd + 1;
+        }
+        return questions;
+    }
+
+    private static byte[] read(Path csv, FileChannel channel, long position, int length) {
+        var buffer = ByteBuffer.allocate(length);
+        try {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, position + buffer.position()) < 0) {
+                    throw new QuestionReadException("CSV file was truncated: " + csv);
+                }
+            }
+        } catch (IOException e) {
+            throw new QuestionReadException("Error reading CSV file " + csv, e);
+        }
+        return buffer.array();
+    }
+
+    private static int indexOf(byte[] bytes, int from, int to, byte value) {
+        for (int i = from; i < to; i++) {
+            if (bytes[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
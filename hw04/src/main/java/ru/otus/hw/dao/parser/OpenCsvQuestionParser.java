@@ -0,0 +1,29 @@
+package ru.otus.hw.dao.parser;
+
+import com.opencsv.bean.CsvToBeanBuilder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.otus.hw.dao.dto.QuestionDto;
+import ru.otus.hw.domain.Question;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+@Component
+@ConditionalOnProperty(prefix = "test", name = "parser", havingValue = "opencsv", matchIfMissing = true)
+public class OpenCsvQuestionParser implements QuestionParser {
+
+    @Override
+    public Stream<Question> parse(InputStream inputStream) {
+        var reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8);
+        return new CsvToBeanBuilder<QuestionDto>(reader)
+                .withType(QuestionDto.class)
+                .withSkipLines(1)
+                .withSeparator(';')
+                .build()
+                .stream()
+                .map(QuestionDto::toDomainObject);
+    }
+}
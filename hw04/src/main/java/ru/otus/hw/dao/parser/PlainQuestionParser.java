@@ -0,0 +1,191 @@
+package ru.otus.hw.dao.parser;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.otus.hw.domain.Answer;
+import ru.otus.hw.domain.Question;
+import ru.otus.hw.exceptions.QuestionReadException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Single-pass parser for the {@code text;answer%bool|answer%bool} format without reflection or regular expressions.
+ * All delimiters are ASCII, so records are split on raw UTF-8 bytes and only the text slices are decoded.
+ * Quoted CSV fields are not supported.
+ */
+@Component
+@ConditionalOnProperty(prefix = "test", name = "parser", havingValue = "plain")
+public class PlainQuestionParser implements QuestionParser {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final int SKIP_LINES = 1;
+
+    private static final byte[] TRUE = "true".getBytes(StandardCharsets.US_ASCII);
+
+    @Override
+    public Stream<Question> parse(InputStream inputStream) {
+        return StreamSupport.stream(new RecordSpliterator(inputStream), false);
+    }
+
+    public static Question parseRecord(byte[] bytes, int from, int to) {
+        int end = to;
+        if (end > from && bytes[end - 1] == '\r') {
+            end--;
+        }
+        int separator = indexOf(bytes, from, end, (byte) ';');
+        if (separator < 0) {
+            throw new QuestionReadException("Question has no answers: " + decode(bytes, from, end));
+        }
+        int answersEnd = indexOf(bytes, separator + 1, end, (byte) ';');
+        if (answersEnd < 0) {
+            answersEnd = end;
+        }
+        return new Question(decode(bytes, from, separator), parseAnswers(bytes, separator + 1, answersEnd));
+    }
+
+    static boolean isBlank(byte[] bytes, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (bytes[i] != ' ' && bytes[i] != '\t' && bytes[i] != '\r') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<Answer> parseAnswers(byte[] bytes, int from, int answersEnd) {
+        // opencsv splits answers with String.split, which drops trailing empty answers
+        int to = answersEnd;
+        while (to > from && bytes[to - 1] == '|') {
+            to--;
+        }
+        List<Answer> answers = new ArrayList<>(4);
+        int start = from;
+        while (start <= to) {
+            int end = indexOf(bytes, start, to, (byte) '|');
+            if (end < 0) {
+                end = to;
+            }
+            int flag = indexOf(bytes, start, end, (byte) '%');
+            if (flag < 0) {
+                throw new QuestionReadException("Answer has no correctness flag: " + decode(bytes, start, end));
+            }
+            int flagEnd = indexOf(bytes, flag + 1, end, (byte) '%');
+            answers.add(new Answer(decode(bytes, start, flag), isTrue(bytes, flag + 1, flagEnd < 0 ? end : flagEnd)));
+            start = end + 1;
+        }
+        return answers;
+    }
+
+    private static boolean isTrue(byte[] bytes, int from, int to) {
+        if (to - from != TRUE.length) {
+            return false;
+        }
+        for (int i = 0; i < TRUE.length; i++) {
+            if ((bytes[from + i] | 0x20) != TRUE[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int indexOf(byte[] bytes, int from, int to, byte value) {
+        for (int i = from; i < to; i++) {
+            if (bytes[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String decode(byte[] bytes, int from, int to) {
+        return new String(bytes, from, to - from, StandardCharsets.UTF_8);
+    }
+
+    private static class RecordSpliterator extends Spliterators.AbstractSpliterator<Question> {
+
+        private final InputStream inputStream;
+
+        private byte[] buffer = new byte[BUFFER_SIZE];
+
+        private int position;
+
+        private int limit;
+
+        private int skipped;
+
+        private boolean eof;
+
+        RecordSpliterator(InputStream inputStream) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.inputStream = inputStream;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Question> action) {
+            while (true) {
+                int lineEnd = nextLineEnd();
+                if (lineEnd < 0) {
+                    return false;
+                }
+                int lineStart = position;
+                position = Math.min(lineEnd + 1, limit);
+                if (skipped < SKIP_LINES) {
+                    skipped++;
+                    continue;
+                }
+                if (!isBlank(buffer, lineStart, lineEnd)) {
+                    action.accept(parseRecord(buffer, lineStart, lineEnd));
+                    return true;
+                }
+            }
+        }
+
+        private int nextLineEnd() {
+            int scanFrom = position;
+            while (true) {
+                int newLine = indexOf(buffer, scanFrom, limit, (byte) '\n');
+                if (newLine >= 0) {
+                    return newLine;
+                }
+                if (eof) {
+                    return position < limit ? limit : -1;
+                }
+                scanFrom = limit - position;
+                fill();
+            }
+        }
+
+        private void fill() {
+            int remaining = limit - position;
+            if (remaining == buffer.length) {
+                byte[] grown = new byte[buffer.length * 2];
+                System.arraycopy(buffer, position, grown, 0, remaining);
+                buffer = grown;
+            } else if (position > 0) {
+                System.arraycopy(buffer, position, buffer, 0, remaining);
+            }
+            position = 0;
+            limit = remaining;
+            try {
+                int read = inputStream.read(buffer, limit, buffer.length - limit);
+                if (read < 0) {
+                    eof = true;
+                } else {
+                    limit += read;
+                }
+            } catch (IOException e) {
+                throw new QuestionReadException("Error reading CSV file", e);
+            }
+        }
+    }
+}
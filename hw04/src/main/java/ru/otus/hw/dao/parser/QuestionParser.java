@@ -0,0 +1,10 @@
+package ru.otus.hw.dao.parser;
+
+import ru.otus.hw.domain.Question;
+
+import java.io.InputStream;
+import java.util.stream.Stream;
+
+public interface QuestionParser {
+    Stream<Question> parse(InputStream inputStream);
+}
@@ -0,0 +1,70 @@
+package ru.otus.hw.domain;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Memory-friendly form of {@link TestResult}: each answer is packed into one int
+ * ({@code questionIndex << 8 | answerIndex}) and correctness is kept as a bitset.
+ * Question indices refer to the bank identified by {@code bankVersion}.
+ */
+public record CompactTestResult(long bankVersion, Student student, int[] answers, long[] rightAnswers) {
+
+    public static final int MAX_ANSWER_INDEX = 255;
+
+    public static final int MAX_QUESTION_INDEX = (1 << 23) - 1;
+
+    public static int pack(int questionIndex, int answerIndex) {
+        if (questionIndex < 0 || questionIndex > MAX_QUESTION_INDEX) {
+            throw new IllegalArgumentException("Question index is out of range: " + questionIndex);
+        }
+        if (answerIndex < 0 || answerIndex > MAX_ANSWER_INDEX) {
+            throw new IllegalArgumentException("Answer index is out of range: " + answerIndex);
+        }
+        return questionIndex << 8 | answerIndex;
+    }
+
+    public int answeredCount() {
+        return answers.length;
+    }
+
+    public int questionIndex(int position) {
+        return answers[position] >>> 8;
+    }
+
+    public int answerIndex(int position) {
+        return answers[position] & 0xFF;
+    }
+
+    public boolean isRight(int position) {
+        return (rightAnswers[position >>> 6] & 1L << position) != 0;
+    }
+
+    public int rightAnswersCount() {
+        int count = 0;
+        for (long word : rightAnswers) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof CompactTestResult that
+                && bankVersion == that.bankVersion
+                && Objects.equals(student, that.student)
+                && Arrays.equals(answers, that.answers)
+                && Arrays.equals(rightAnswers, that.rightAnswers);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * Objects.hash(bankVersion, student) + Arrays.hashCode(answers)) + Arrays.hashCode(rightAnswers);
+    }
+
+    @Override
+    public String toString() {
+        return "CompactTestResult[bankVersion=" + bankVersion + ", student=" + student
+                + ", answers=" + Arrays.toString(answers) + ", rightAnswers=" + Arrays.toString(rightAnswers) + "]";
+    }
+}
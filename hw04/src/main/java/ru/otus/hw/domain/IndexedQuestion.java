@@ -0,0 +1,7 @@
+package ru.otus.hw.domain;
+
+/**
+ * A question together with its position in the question bank.
+ */
+public record IndexedQuestion(int index, Question question) {
+}
@@ -1,16 +1,40 @@
 package ru.otus.hw.domain;
 
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 
 @Data
 public class TestResult {
+    private static final int INITIAL_CAPACITY = 4;
+
     private final Student student;
 
     private final List<Question> answeredQuestions;
 
+    // chosen answers and bank positions are kept unboxed, the arrays grow by doubling and are filled up to
+    // the number of answered questions
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private int[] chosenAnswers = new int[INITIAL_CAPACITY];
+
+    // position of each answered question in the bank, -1 when it is not known
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private int[] bankIndexes = new int[INITIAL_CAPACITY];
+
     private int rightAnswersCount;
 
     public TestResult(Student student) {
@@ -18,10 +42,44 @@ public class TestResult {
         this.answeredQuestions = new ArrayList<>();
     }
 
-    public void applyAnswer(Question question, boolean isRightAnswer) {
+    public void applyAnswer(Question question, int answerIndex) {
+        applyAnswer(-1, question, answerIndex);
+    }
+
+    public void applyAnswer(int bankIndex, Question question, int answerIndex) {
+        boolean isRightAnswer = question.answers().get(answerIndex).isCorrect();
+        int position = answeredQuestions.size();
+        if (position == chosenAnswers.length) {
+            chosenAnswers = Arrays.copyOf(chosenAnswers, position * 2);
+            bankIndexes = Arrays.copyOf(bankIndexes, position * 2);
+        }
         answeredQuestions.add(question);
+        chosenAnswers[position] = answerIndex;
+        bankIndexes[position] = bankIndex;
         if (isRightAnswer) {
             rightAnswersCount++;
         }
     }
+
+    public int getChosenAnswer(int position) {
+        return chosenAnswers[checkPosition(position)];
+    }
+
+    public int getBankIndex(int position) {
+        return bankIndexes[checkPosition(position)];
+    }
+
+    @EqualsAndHashCode.Include
+    @ToString.Include
+    public int[] getChosenAnswers() {
+        return Arrays.copyOf(chosenAnswers, answeredQuestions.size());
+    }
+
+    public int[] getBankIndexes() {
+        return Arrays.copyOf(bankIndexes, answeredQuestions.size());
+    }
+
+    private int checkPosition(int position) {
+        return Objects.checkIndex(position, answeredQuestions.size());
+    }
 }
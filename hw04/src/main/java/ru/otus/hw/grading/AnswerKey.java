@@ -0,0 +1,52 @@
+package ru.otus.hw.grading;
+
+import ru.otus.hw.domain.Answer;
+import ru.otus.hw.domain.Question;
+
+import java.util.List;
+
+public final class AnswerKey {
+
+    private final long[] correctAnswers;
+
+    private final int[] firstBits;
+
+    private AnswerKey(long[] correctAnswers, int[] firstBits) {
+        this.correctAnswers = correctAnswers;
+        this.firstBits = firstBits;
+    }
+
+    public static AnswerKey compile(List<Question> questions) {
+        int[] firstBits = new int[questions.size() + 1];
+        for (int i = 0; i < questions.size(); i++) {
+            firstBits[i + 1] = firstBits[i] + questions.get(i).answers().size();
+        }
+        long[] correctAnswers = new long[(firstBits[questions.size()] + Long.SIZE - 1) / Long.SIZE];
+        for (int i = 0; i < questions.size(); i++) {
+            List<Answer> answers = questions.get(i).answers();
+            for (int answer = 0; answer < answers.size(); answer++) {
+                if (answers.get(answer).isCorrect()) {
+                    int bit = firstBits[i] + answer;
+                    correctAnswers[bit >>> 6] |= 1L << bit;
+                }
+            }
+        }
+        return new AnswerKey(correctAnswers, firstBits);
+    }
+
+    public int questionCount() {
+        return firstBits.length - 1;
+    }
+
+    public int answerCount(int question) {
+        return firstBits[question + 1] - firstBits[question];
+    }
+
+    public boolean isCorrect(int question, int answer) {
+        if (answer < 0 || answer >= answerCount(question)) {
+            return false;
+        }
+        int bit = firstBits[question] + answer;
+        return (correctAnswers[bit >>> 6] & (1L << bit)) != 0;
+    }
+}
@@ -0,0 +1,84 @@
+package ru.otus.hw.grading;
+
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+
+@RequiredArgsConstructor
+class AnswerSheetGrader extends RecursiveAction {
+
+    static final int INVALID = -1;
+
+    private static final int THRESHOLD = 1024;
+
+    private static final int MAX_CHOICE = 1_000_000;
+
+    private final AnswerKey answerKey;
+
+    private final List<String> sheets;
+
+    private final int[] scores;
+
+    private final int from;
+
+    private final int to;
+
+    @Override
+    protected void compute() {
+        if (to - from <= THRESHOLD) {
+            for (int i = from; i < to; i++) {
+                scores[i] = score(answerKey, sheets.get(i));
+            }
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        invokeAll(new AnswerSheetGrader(answerKey, sheets, scores, from, middle),
+                new AnswerSheetGrader(answerKey, sheets, scores, middle, to));
+    }
+
+    static int choicesStart(String sheet) {
+        int firstName = sheet.indexOf(';');
+        int lastName = firstName < 0 ? -1 : sheet.indexOf(';', firstName + 1);
+        return firstName <= 0 || lastName < 0 ? INVALID : lastName + 1;
+    }
+
+    static int score(AnswerKey answerKey, String sheet) {
+        int start = choicesStart(sheet);
+        if (start == INVALID) {
+            return INVALID;
+        }
+        int question = 0;
+        int choice = 0;
+        boolean answered = false;
+        int right = 0;
+        for (int i = start; i <= sheet.length(); i++) {
+            char c = i == sheet.length() ? ',' : sheet.charAt(i);
+            if (c >= '0' && c <= '9') {
+                choice = choice * 10 + (c - '0');
+                answered = true;
+                if (choice > MAX_CHOICE) {
+                    return INVALID;
+                }
+            } else if (c == ',') {
+                if (question == answerKey.questionCount()) {
+                    // only a trailing separator may follow the last answer
+                    return i == sheet.length() && !answered ? right : INVALID;
+                }
+                if (!answered) {
+                    return INVALID;
+                }
+                if (answerKey.isCorrect(question, choice - 1)) {
+                    right++;
+                }
+                question++;
+                choice = 0;
+                answered = false;
+            } else if (c != ' ') {
+                return INVALID;
+            }
+        }
+        // a sheet must answer every question, a missing answer is not scored as a wrong one
+        return question == answerKey.questionCount() ? right : INVALID;
+    }
+}
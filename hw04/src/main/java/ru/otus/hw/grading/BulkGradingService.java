@@ -0,0 +1,89 @@
+package ru.otus.hw.grading;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import ru.otus.hw.config.TestConfig;
+import ru.otus.hw.dao.QuestionDao;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BulkGradingService {
+
+    private static final int BATCH_SIZE = 1 << 16;
+
+    private static final String PASSED = "PASSED";
+
+    private static final String FAILED = "FAILED";
+
+    private static final String INVALID = "INVALID";
+
+    private final QuestionDao questionDao;
+
+    private final TestConfig testConfig;
+
+    public GradingSummary grade(Path sheets, Path results) {
+        long startedAt = System.nanoTime();
+        var answerKey = AnswerKey.compile(questionDao.findAll());
+        var counts = new long[3];
+        try (var reader = Files.newBufferedReader(sheets, StandardCharsets.UTF_8);
+             var writer = Files.newBufferedWriter(results, StandardCharsets.UTF_8)) {
+            List<String> batch = new ArrayList<>(BATCH_SIZE);
+            int[] scores = new int[BATCH_SIZE];
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                batch.add(line);
+                if (batch.size() == BATCH_SIZE) {
+                    gradeBatch(answerKey, batch, scores, writer, counts);
+                }
+            }
+            gradeBatch(answerKey, batch, scores, writer, counts);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error grading answer sheets " + sheets, e);
+        }
+        var summary = new GradingSummary(counts[0] + counts[1] + counts[2], counts[0], counts[1], counts[2],
+                System.nanoTime() - startedAt);
+        log.info("Graded {} answer sheets from {}: {} sheets per minute", summary.sheets(), sheets,
+                summary.sheetsPerMinute());
+        return summary;
+    }
+
+    private void gradeBatch(AnswerKey answerKey, List<String> batch, int[] scores, BufferedWriter writer,
+                            long[] counts) throws IOException {
+        ForkJoinPool.commonPool().invoke(new AnswerSheetGrader(answerKey, batch, scores, 0, batch.size()));
+        int rightAnswersCountToPass = testConfig.getRightAnswersCountToPass();
+        for (int i = 0; i < batch.size(); i++) {
+            String sheet = batch.get(i);
+            int score = scores[i];
+            if (score == AnswerSheetGrader.INVALID) {
+                writer.write(sheet);
+                writer.write(';');
+                writer.write(INVALID);
+                counts[2]++;
+            } else {
+                boolean passed = score >= rightAnswersCountToPass;
+                writer.write(sheet, 0, AnswerSheetGrader.choicesStart(sheet));
+                writer.write(Integer.toString(score));
+                writer.write(';');
+                writer.write(passed ? PASSED : FAILED);
+                counts[passed ? 0 : 1]++;
+            }
+            writer.newLine();
+        }
+        batch.clear();
+    }
+}
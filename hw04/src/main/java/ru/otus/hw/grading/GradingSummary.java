@@ -0,0 +1,8 @@
+package ru.otus.hw.grading;
+
+public record GradingSummary(long sheets, long passed, long failed, long invalid, long elapsedNanos) {
+
+    public long sheetsPerMinute() {
+        return elapsedNanos == 0 ? sheets : (long) (sheets * 60e9 / elapsedNanos);
+    }
+}
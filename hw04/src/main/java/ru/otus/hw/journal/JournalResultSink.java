@@ -0,0 +1,81 @@
+package ru.otus.hw.journal;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.otus.hw.config.JournalConfig;
+import ru.otus.hw.dao.BankVersion;
+import ru.otus.hw.dao.QuestionDao;
+import ru.otus.hw.domain.CompactTestResult;
+import ru.otus.hw.domain.TestResult;
+import ru.otus.hw.service.TestResultCompactor;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "test", name = "journal", havingValue = "file")
+public class JournalResultSink implements ResultSink, InitializingBean, DisposableBean {
+
+    private final JournalConfig journalConfig;
+
+    private final QuestionDao questionDao;
+
+    // one compactor per bank file, replaced only when the bank version changes
+    private final Map<String, VersionedCompactor> compactors = new ConcurrentHashMap<>();
+
+    private ResultJournal journal;
+
+    @Override
+    public void afterPropertiesSet() {
+        journal = ResultJournal.open(Path.of(journalConfig.getResultJournalFile()),
+                journalConfig.getJournalGroupCommitBytes(),
+                Duration.ofMillis(journalConfig.getJournalGroupCommitMillis()));
+    }
+
+    @Override
+    public CompletableFuture<Void> record(TestResult result) {
+        CompactTestResult compact;
+        try {
+            compact = compact(result);
+        } catch (IllegalArgumentException e) {
+            log.error("Result of {} was not recorded", result.getStudent().getFullName(), e);
+            return CompletableFuture.failedFuture(e);
+        }
+        return journal.append(compact)
+                .orTimeout(journalConfig.getJournalRecordTimeoutMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((ignored, e) -> {
+                    if (e != null) {
+                        log.error("Result of {} was not recorded", result.getStudent().getFullName(), e);
+                    }
+                });
+    }
+
+    @Override
+    public void destroy() {
+        journal.close();
+    }
+
+    private CompactTestResult compact(TestResult result) {
+        var version = questionDao.getBankVersion();
+        var current = compactors.get(version.fileName());
+        if (current == null || !current.version().equals(version)) {
+            current = compactors.compute(version.fileName(), (fileName, previous) ->
+                    previous != null && previous.version().equals(version) ? previous
+                            : new VersionedCompactor(version, new TestResultCompactor(questionDao.findAll())));
+        }
+        return current.compactor().compact(result);
+    }
+
+    private record VersionedCompactor(BankVersion version, TestResultCompactor compactor) {
+    }
+}
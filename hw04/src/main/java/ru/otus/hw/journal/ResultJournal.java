@@ -0,0 +1,352 @@
+package ru.otus.hw.journal;
+
+import lombok.extern.slf4j.Slf4j;
+import ru.otus.hw.domain.CompactTestResult;
+import ru.otus.hw.domain.Student;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only journal of compact test results, all numbers big-endian:
+ * <pre>
+ * header:  magic(4) version(4)
+ * records: payloadLength(4) crc32c(4) payload
+ * payload: bankVersion(8) firstNameLength(2) firstName(utf-8) lastNameLength(2) lastName(utf-8)
+ *          answerCount(4) answers(4 each) rightAnswers(8 per 64 answers)
+ * </pre>
+ * Records are written by a single thread and synced in groups, once {@code groupCommitBytes} are pending
+ * or the oldest pending record waited {@code groupCommitDelay}. A torn tail is truncated on open.
+ */
+@Slf4j
+public class ResultJournal implements Closeable {
+
+    private static final int MAGIC = 0x514A524E;
+
+    private static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = 2 * Integer.BYTES;
+
+    private static final int FRAME_SIZE = 2 * Integer.BYTES;
+
+    private static final int MAX_PAYLOAD = 16 * 1024 * 1024;
+
+    private static final int MAX_BATCH = 4096;
+
+    private static final int BUFFER_SIZE = 256 * 1024;
+
+    private static final PendingRecord CLOSE = new PendingRecord(null, null);
+
+    private final Path file;
+
+    private final FileChannel channel;
+
+    private final int groupCommitBytes;
+
+    private final long groupCommitNanos;
+
+    private final BlockingQueue<PendingRecord> queue = new LinkedBlockingQueue<>();
+
+    private final Thread writer;
+
+    private final AtomicLong syncCount = new AtomicLong();
+
+    private volatile boolean closed;
+
+    private volatile IOException failure;
+
+    private ResultJournal(Path file, FileChannel channel, int groupCommitBytes, Duration groupCommitDelay) {
+        this.file = file;
+        this.channel = channel;
+        this.groupCommitBytes = groupCommitBytes;
+        this.groupCommitNanos = groupCommitDelay.toNanos();
+        this.writer = new Thread(this::writeLoop, "result-journal-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    public static ResultJournal open(Path file, int groupCommitBytes, Duration groupCommitDelay) {
+        FileChannel channel = null;
+        try {
+            var parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            long end = channel.size() == 0 ? writeHeader(channel) : recover(file, channel);
+            channel.position(end);
+            return new ResultJournal(file, channel, groupCommitBytes, groupCommitDelay);
+        } catch (IOException e) {
+            closeQuietly(channel);
+            throw new UncheckedIOException("Error opening result journal " + file, e);
+        }
+    }
+
+    public static List<CompactTestResult> read(Path file) {
+        List<CompactTestResult> results = new ArrayList<>();
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            checkHeader(file, channel);
+            scan(channel, results::add);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error reading result journal " + file, e);
+        }
+        return results;
+    }
+
+    public CompletableFuture<Void> append(CompactTestResult result) {
+        var record = new PendingRecord(encode(result), new CompletableFuture<>());
+        synchronized (this) {
+            if (closed) {
+                record.future().completeExceptionally(new IllegalStateException("Result journal is closed: " + file));
+            } else if (failure != null) {
+                record.future().completeExceptionally(
+                        new UncheckedIOException("Result journal has failed: " + file, failure));
+            } else {
+                queue.add(record);
+            }
+        }
+        return record.future();
+    }
+
+    public long getSyncCount() {
+        return syncCount.get();
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            queue.add(CLOSE);
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        closeQuietly(channel);
+    }
+
+    private void writeLoop() {
+        var buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        List<PendingRecord> batch = new ArrayList<>();
+        List<CompletableFuture<Void>> unsynced = new ArrayList<>();
+        long unsyncedBytes = 0;
+        long oldestUnsyncedAt = 0;
+        boolean closing = false;
+        try {
+            while (!closing) {
+                PendingRecord first = unsynced.isEmpty() ? queue.take()
+                        : queue.poll(groupCommitNanos - (System.nanoTime() - oldestUnsyncedAt), TimeUnit.NANOSECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, MAX_BATCH);
+                    if (unsynced.isEmpty()) {
+                        oldestUnsyncedAt = System.nanoTime();
+                    }
+                    for (PendingRecord record : batch) {
+                        if (record == CLOSE) {
+                            closing = true;
+                            continue;
+                        }
+                        unsyncedBytes += write(buffer, record.bytes());
+                        unsynced.add(record.future());
+                    }
+                    batch.clear();
+                    flush(buffer);
+                }
+                if (!unsynced.isEmpty() && (closing || unsyncedBytes >= groupCommitBytes
+                        || System.nanoTime() - oldestUnsyncedAt >= groupCommitNanos)) {
+                    channel.force(false);
+                    syncCount.incrementAndGet();
+                    unsynced.forEach(future -> future.complete(null));
+                    unsynced.clear();
+                    unsyncedBytes = 0;
+                }
+            }
+        } catch (IOException e) {
+            log.error("Result journal {} failed, results are no longer recorded", file, e);
+            synchronized (this) {
+                failure = e;
+            }
+            var error = new UncheckedIOException("Error writing result journal " + file, e);
+            unsynced.forEach(future -> future.completeExceptionally(error));
+            batch.forEach(record -> fail(record, error));
+            queue.forEach(record -> fail(record, error));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private int write(ByteBuffer buffer, byte[] record) throws IOException {
+        if (buffer.remaining() < record.length) {
+            flush(buffer);
+        }
+        if (buffer.remaining() < record.length) {
+            var wrapped = ByteBuffer.wrap(record);
+            while (wrapped.hasRemaining()) {
+                channel.write(wrapped);
+            }
+        } else {
+            buffer.put(record);
+        }
+        return record.length;
+    }
+
+    private void flush(ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static void fail(PendingRecord record, Throwable error) {
+        if (record != CLOSE) {
+            record.future().completeExceptionally(error);
+        }
+    }
+
+    private static byte[] encode(CompactTestResult result) {
+        byte[] firstName = encodeName(result.student().firstName());
+        byte[] lastName = encodeName(result.student().lastName());
+        int[] answers = result.answers();
+        long[] rightAnswers = result.rightAnswers();
+        int payloadLength = Long.BYTES + Short.BYTES + firstName.length + Short.BYTES + lastName.length
+                + Integer.BYTES + answers.length * Integer.BYTES + rightAnswers.length * Long.BYTES;
+        var record = ByteBuffer.allocate(FRAME_SIZE + payloadLength)
+                .putInt(payloadLength)
+                .putInt(0)
+                .putLong(result.bankVersion())
+                .putShort((short) firstName.length).put(firstName)
+                .putShort((short) lastName.length).put(lastName)
+                .putInt(answers.length);
+        record.asIntBuffer().put(answers);
+        record.position(record.position() + answers.length * Integer.BYTES);
+        record.asLongBuffer().put(rightAnswers);
+        var crc = new CRC32C();
+        crc.update(record.array(), FRAME_SIZE, payloadLength);
+        record.putInt(Integer.BYTES, (int) crc.getValue());
+        return record.array();
+    }
+
+    private static byte[] encodeName(String name) {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Student name is too long to be journaled");
+        }
+        return bytes;
+    }
+
+    private static CompactTestResult decode(ByteBuffer payload) {
+        long bankVersion = payload.getLong();
+        var student = new Student(decodeName(payload), decodeName(payload));
+        int[] answers = new int[payload.getInt()];
+        payload.asIntBuffer().get(answers);
+        payload.position(payload.position() + answers.length * Integer.BYTES);
+        long[] rightAnswers = new long[(answers.length + 63) >>> 6];
+        payload.asLongBuffer().get(rightAnswers);
+        return new CompactTestResult(bankVersion, student, answers, rightAnswers);
+    }
+
+    private static String decodeName(ByteBuffer payload) {
+        byte[] bytes = new byte[payload.getShort()];
+        payload.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static long writeHeader(FileChannel channel) throws IOException {
+        var header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION).flip();
+        while (header.hasRemaining()) {
+            channel.write(header, header.position());
+        }
+        channel.force(true);
+        return HEADER_SIZE;
+    }
+
+    private static void checkHeader(Path file, FileChannel channel) throws IOException {
+        var header = ByteBuffer.allocate(HEADER_SIZE);
+        channel.read(header, 0);
+        if (header.position() < HEADER_SIZE || header.getInt(0) != MAGIC || header.getInt(Integer.BYTES) != VERSION) {
+            throw new IOException("Not a result journal: " + file);
+        }
+    }
+
+    private static long recover(Path file, FileChannel channel) throws IOException {
+        checkHeader(file, channel);
+        long end = scan(channel, result -> { });
+        if (end < channel.size()) {
+            log.warn("Truncating torn tail of result journal {} at {} of {} bytes", file, end, channel.size());
+            channel.truncate(end);
+            channel.force(true);
+        }
+        return end;
+    }
+
+    private static long scan(FileChannel channel, Consumer<CompactTestResult> consumer) throws IOException {
+        long size = channel.size();
+        long position = HEADER_SIZE;
+        var frame = ByteBuffer.allocate(FRAME_SIZE);
+        var crc = new CRC32C();
+        while (position + FRAME_SIZE <= size) {
+            frame.clear();
+            readFully(channel, frame, position);
+            int payloadLength = frame.getInt(0);
+            if (payloadLength <= 0 || payloadLength > MAX_PAYLOAD || position + FRAME_SIZE + payloadLength > size) {
+                break;
+            }
+            var payload = ByteBuffer.allocate(payloadLength);
+            readFully(channel, payload, position + FRAME_SIZE);
+            crc.reset();
+            crc.update(payload.array());
+            if ((int) crc.getValue() != frame.getInt(Integer.BYTES)) {
+                break;
+            }
+            consumer.accept(decode(payload.flip()));
+            position += FRAME_SIZE + payloadLength;
+        }
+        return position;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of result journal");
+            }
+        }
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.warn("Error closing result journal", e);
+        }
+    }
+
+    private record PendingRecord(byte[] bytes, CompletableFuture<Void> future) {
+    }
+}
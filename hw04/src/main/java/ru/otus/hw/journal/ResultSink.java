@@ -0,0 +1,13 @@
+package ru.otus.hw.journal;
+
+import ru.otus.hw.domain.TestResult;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface ResultSink {
+    /**
+     * Records a completed test result. The returned future completes once the result is durable,
+     * or exceptionally if it could not be recorded in a bounded time.
+     */
+    CompletableFuture<Void> record(TestResult result);
+}
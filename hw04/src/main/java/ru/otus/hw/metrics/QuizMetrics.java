@@ -0,0 +1,118 @@
+package ru.otus.hw.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Measurement;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Meters of the quiz pipeline, all named {@code quiz.*}.
+ */
+@Component
+public class QuizMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    private final Counter messageLookups;
+
+    private final DistributionSummary inputRetries;
+
+    private final Counter invalidInputs;
+
+    private final Timer sessionDuration;
+
+    public QuizMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.messageLookups = Counter.builder("quiz.messages.lookups")
+                .description("Localized message lookups")
+                .register(meterRegistry);
+        this.inputRetries = DistributionSummary.builder("quiz.input.retries")
+                .description("Invalid inputs before a number in range was read")
+                .register(meterRegistry);
+        this.invalidInputs = Counter.builder("quiz.input.invalid")
+                .description("Inputs that were not a number in range")
+                .register(meterRegistry);
+        this.sessionDuration = Timer.builder("quiz.session.duration")
+                .description("Duration of a whole quiz session")
+                .register(meterRegistry);
+    }
+
+    public void recordBankLoad(String fileName, long nanos, int questionCount) {
+        Timer.builder("quiz.questions.load")
+                .description("Time to load a question bank")
+                .tag("file", fileName)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("quiz.questions.loaded")
+                .description("Questions per loaded bank")
+                .tag("file", fileName)
+                .register(meterRegistry)
+                .record(questionCount);
+    }
+
+    public void countMessageLookup() {
+        messageLookups.increment();
+    }
+
+    public void countInvalidInput() {
+        invalidInputs.increment();
+    }
+
+    public void recordInputRetries(int retries) {
+        inputRetries.record(retries);
+    }
+
+    public void recordSession(long nanos) {
+        sessionDuration.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public List<String> dump() {
+        return meterRegistry.getMeters().stream()
+                .filter(meter -> meter.getId().getName().startsWith("quiz."))
+                .sorted(Comparator.comparing((Meter meter) -> meter.getId().getName())
+                        .thenComparing(meter -> meter.getId().getTags().toString()))
+                .map(QuizMetrics::format)
+                .toList();
+    }
+
+    public void export(Path file) {
+        try {
+            Files.write(file, dump(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error writing metrics to " + file, e);
+        }
+    }
+
+    private static String format(Meter meter) {
+        var id = meter.getId();
+        var line = new StringBuilder(id.getName());
+        List<Tag> tags = id.getTags();
+        if (!tags.isEmpty()) {
+            line.append(tags.stream().map(tag -> tag.getKey() + "=" + tag.getValue())
+                    .collect(Collectors.joining(",", "{", "}")));
+        }
+        for (Measurement measurement : meter.measure()) {
+            line.append(' ').append(measurement.getStatistic().getTagValueRepresentation()).append('=')
+                    .append(BigDecimal.valueOf(measurement.getValue()).stripTrailingZeros().toPlainString());
+        }
+        if (id.getBaseUnit() != null) {
+            line.append(' ').append(id.getBaseUnit());
+        }
+        return line.toString();
+    }
+}
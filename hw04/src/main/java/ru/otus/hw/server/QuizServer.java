@@ -0,0 +1,142 @@
+package ru.otus.hw.server;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+import ru.otus.hw.config.ServerConfig;
+import ru.otus.hw.metrics.QuizMetrics;
+import ru.otus.hw.service.BufferedIOService;
+import ru.otus.hw.session.QuizSessionManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnExpression("${test.serverPort:0} > 0")
+public class QuizServer implements SmartInitializingSingleton, DisposableBean {
+
+    public static final String SERVER_BUSY = "Server is busy, try again later";
+
+    private static final int BACKLOG = 1024;
+
+    private final ServerConfig serverConfig;
+
+    private final QuizSessionManager sessionManager;
+
+    private final QuizMetrics quizMetrics;
+
+    private volatile ServerSocket serverSocket;
+
+    private int maxConnections;
+
+    private Semaphore connections;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        // a connection beyond the session capacity would be accepted only to have its session rejected
+        maxConnections = Math.min(serverConfig.getServerMaxConnections(), sessionManager.getCapacity());
+        connections = new Semaphore(maxConnections);
+        try {
+            serverSocket = new ServerSocket();
+            serverSocket.bind(new InetSocketAddress(serverConfig.getServerAddress(), serverConfig.getServerPort()),
+                    BACKLOG);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Quiz server can't listen on %s:%d"
+                    .formatted(serverConfig.getServerAddress(), serverConfig.getServerPort()), e);
+        }
+        var acceptor = new Thread(this::acceptConnections, "quiz-server-acceptor");
+        acceptor.start();
+        log.info("Quiz server is listening on {}:{}", serverConfig.getServerAddress(), getPort());
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public InetAddress getAddress() {
+        return serverSocket.getInetAddress();
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        if (serverSocket != null) {
+            serverSocket.close();
+        }
+    }
+
+    private void acceptConnections() {
+        while (!serverSocket.isClosed()) {
+            try {
+                serve(serverSocket.accept());
+            } catch (SocketException e) {
+                log.debug("Quiz server stopped accepting connections", e);
+            } catch (IOException | RuntimeException e) {
+                log.warn("Connection was not accepted", e);
+            }
+        }
+    }
+
+    private void serve(Socket socket) throws IOException {
+        if (!connections.tryAcquire()) {
+            log.warn("Connection from {} was refused, {} connections are open",
+                    socket.getRemoteSocketAddress(), maxConnections);
+            refuse(socket);
+            return;
+        }
+        try {
+            socket.setTcpNoDelay(true);
+            socket.setSoTimeout(serverConfig.getServerReadTimeoutMillis());
+            var ioService = new BufferedIOService(socket.getOutputStream(), socket.getInputStream(), quizMetrics);
+            sessionManager.submit(ioService).whenComplete((result, error) -> {
+                if (error instanceof CompletionException && error.getCause() instanceof RejectedExecutionException) {
+                    log.warn("Session from {} was rejected, all session threads are busy",
+                            socket.getRemoteSocketAddress());
+                    refuse(socket);
+                } else {
+                    if (error != null) {
+                        log.debug("Session from {} failed", socket.getRemoteSocketAddress(), error);
+                    }
+                    close(socket);
+                }
+                connections.release();
+            });
+        } catch (IOException | RuntimeException e) {
+            close(socket);
+            connections.release();
+            throw e;
+        }
+    }
+
+    private void refuse(Socket socket) {
+        try {
+            var output = socket.getOutputStream();
+            output.write((SERVER_BUSY + System.lineSeparator()).getBytes(StandardCharsets.UTF_8));
+            output.flush();
+        } catch (IOException e) {
+            log.debug("Busy reply was not sent", e);
+        }
+        close(socket);
+    }
+
+    private void close(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            log.debug("Connection was not closed cleanly", e);
+        }
+    }
+}
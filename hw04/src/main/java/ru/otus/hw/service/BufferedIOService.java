@@ -0,0 +1,217 @@
+package ru.otus.hw.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import ru.otus.hw.metrics.QuizMetrics;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.NoSuchElementException;
+
+@Service
+@ConditionalOnProperty(prefix = "test", name = "io", havingValue = "buffered")
+public class BufferedIOService implements IOService {
+    private static final int MAX_ATTEMPTS = 10;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final int MAX_LINE_LENGTH = 1024;
+
+    private static final long NOT_A_NUMBER = Long.MIN_VALUE;
+
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+
+    private final BufferedOutputStream output;
+
+    private final BufferedWriter writer;
+
+    private final BufferedReader reader;
+
+    private final StringBuilder line = new StringBuilder();
+
+    private final QuizMetrics quizMetrics;
+
+    public BufferedIOService(@Value("#{T(System).out}") OutputStream outputStream,
+                             @Value("#{T(System).in}") InputStream inputStream,
+                             QuizMetrics quizMetrics) {
+
+        this.output = new BufferedOutputStream(outputStream, BUFFER_SIZE);
+        this.writer = new BufferedWriter(new OutputStreamWriter(new UnflushedStream(output), StandardCharsets.UTF_8),
+                BUFFER_SIZE);
+        this.reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+        this.quizMetrics = quizMetrics;
+    }
+
+    @Override
+    public void printLine(String s) {
+        try {
+            writer.write(s);
+            writer.write(System.lineSeparator());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void printFormattedLine(String s, Object... args) {
+        try {
+            LineTemplate.of(s).writeLine(writer, args);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void printBytes(byte[] utf8Line) {
+        try {
+            writer.flush();
+            output.write(utf8Line);
+            output.write(LINE_SEPARATOR);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void flush() {
+        try {
+            writer.flush();
+            output.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public String readString() {
+        return readFittingLine(null);
+    }
+
+    @Override
+    public String readStringWithPrompt(String prompt) {
+        printLine(prompt);
+        return readFittingLine(prompt);
+    }
+
+    @Override
+    public int readIntForRange(int min, int max, String errorMessage) {
+        for (int i = 0; i < MAX_ATTEMPTS; i++) {
+            long value = readLine() ? parseInt(line) : NOT_A_NUMBER;
+            if (value != NOT_A_NUMBER && value >= min && value <= max) {
+                quizMetrics.recordInputRetries(i);
+                return (int) value;
+            }
+            quizMetrics.countInvalidInput();
+            printLine(errorMessage);
+        }
+        quizMetrics.recordInputRetries(MAX_ATTEMPTS);
+        throw new IllegalArgumentException("Error during reading int value");
+    }
+
+    @Override
+    public int readIntForRangeWithPrompt(int min, int max, String prompt, String errorMessage) {
+        printLine(prompt);
+        return readIntForRange(min, max, errorMessage);
+    }
+
+    /**
+     * Returns the next line not longer than {@link #MAX_LINE_LENGTH}: an overlong line is discarded as invalid input
+     * and the prompt, if any, is repeated, like an invalid number in {@link #readIntForRange}.
+     */
+    private String readFittingLine(String prompt) {
+        for (int i = 0; i < MAX_ATTEMPTS; i++) {
+            if (readLine()) {
+                return line.toString();
+            }
+            quizMetrics.countInvalidInput();
+            if (prompt != null) {
+                printLine(prompt);
+            }
+        }
+        throw new IllegalArgumentException("Input line is longer than " + MAX_LINE_LENGTH + " characters");
+    }
+
+    /**
+     * Reads the next line into {@link #line}, returns false if it was longer than {@link #MAX_LINE_LENGTH}:
+     * the rest of such a line is skipped and {@link #line} holds only its beginning.
+     */
+    private boolean readLine() {
+        flush();
+        line.setLength(0);
+        boolean fits = true;
+        try {
+            int c = reader.read();
+            if (c < 0) {
+                throw new NoSuchElementException("No line found");
+            }
+            while (c >= 0 && c != '\n') {
+                if (line.length() < MAX_LINE_LENGTH) {
+                    line.append((char) c);
+                } else if (c != '\r') {
+                    fits = false;
+                }
+                c = reader.read();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        int length = line.length();
+        if (length > 0 && line.charAt(length - 1) == '\r') {
+            line.setLength(length - 1);
+        }
+        return fits;
+    }
+
+    private static long parseInt(CharSequence chars) {
+        int from = 0;
+        int to = chars.length();
+        boolean negative = false;
+        if (to > 0 && (chars.charAt(0) == '-' || chars.charAt(0) == '+')) {
+            negative = chars.charAt(0) == '-';
+            from++;
+        }
+        if (from == to) {
+            return NOT_A_NUMBER;
+        }
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = chars.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return NOT_A_NUMBER;
+            }
+            value = value * 10 + digit;
+            if (value > Integer.MAX_VALUE + 1L) {
+                return NOT_A_NUMBER;
+            }
+        }
+        value = negative ? -value : value;
+        return value < Integer.MIN_VALUE || value > Integer.MAX_VALUE ? NOT_A_NUMBER : value;
+    }
+
+    // lets writer.flush() move encoded text into the byte buffer without flushing it to the client
+    private static class UnflushedStream extends FilterOutputStream {
+
+        UnflushedStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void flush() {
+        }
+    }
+}
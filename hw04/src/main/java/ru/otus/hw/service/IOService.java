@@ -1,10 +1,19 @@
 package ru.otus.hw.service;
 
+import java.nio.charset.StandardCharsets;
+
 public interface IOService {
     void printLine(String s);
 
     void printFormattedLine(String s, Object ...args);
 
+    default void printBytes(byte[] utf8Line) {
+        printLine(new String(utf8Line, StandardCharsets.UTF_8));
+    }
+
+    default void flush() {
+    }
+
     String readString();
 
     String readStringWithPrompt(String prompt);
@@ -0,0 +1,115 @@
+package ru.otus.hw.service;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+final class LineTemplate {
+
+    private static final int MAX_CACHED_TEMPLATES = 1024;
+
+    private static final Map<String, LineTemplate> TEMPLATES = new ConcurrentHashMap<>();
+
+    private static final char STRING = 's';
+
+    private static final char DECIMAL = 'd';
+
+    private final String format;
+
+    private final String[] literals;
+
+    private final char[] conversions;
+
+    private final boolean simple;
+
+    private LineTemplate(String format) {
+        this.format = format;
+        List<String> parsedLiterals = new ArrayList<>();
+        StringBuilder conversionChars = new StringBuilder();
+        var literal = new StringBuilder();
+        boolean supported = true;
+        for (int i = 0; i < format.length(); i++) {
+            char c = format.charAt(i);
+            if (c != '%') {
+                literal.append(c);
+                continue;
+            }
+            if (i + 1 == format.length()) {
+                // a trailing lone '%' is left to String.format, which rejects it
+                supported = false;
+                break;
+            }
+            char conversion = format.charAt(++i);
+            switch (conversion) {
+                case '%' -> literal.append('%');
+                case 'n' -> literal.append(System.lineSeparator());
+                case STRING, DECIMAL -> {
+                    parsedLiterals.add(literal.toString());
+                    literal.setLength(0);
+                    conversionChars.append(conversion);
+                }
+                default -> supported = false;
+            }
+        }
+        parsedLiterals.add(literal.toString());
+        this.literals = parsedLiterals.toArray(String[]::new);
+        this.conversions = conversionChars.toString().toCharArray();
+        this.simple = supported;
+    }
+
+    static LineTemplate of(String format) {
+        var template = TEMPLATES.get(format);
+        if (template != null) {
+            return template;
+        }
+        template = new LineTemplate(format);
+        if (TEMPLATES.size() < MAX_CACHED_TEMPLATES) {
+            TEMPLATES.putIfAbsent(format, template);
+        }
+        return template;
+    }
+
+    void writeLine(Writer writer, Object... args) throws IOException {
+        if (!simple || args.length != conversions.length) {
+            writer.write(String.format(format, args));
+        } else {
+            writer.write(literals[0]);
+            for (int i = 0; i < conversions.length; i++) {
+                writeArgument(writer, conversions[i], args[i]);
+                writer.write(literals[i + 1]);
+            }
+        }
+        writer.write(System.lineSeparator());
+    }
+
+    private static void writeArgument(Writer writer, char conversion, Object arg) throws IOException {
+        if (conversion == DECIMAL && (arg instanceof Integer || arg instanceof Long)) {
+            writeDecimal(writer, ((Number) arg).longValue());
+        } else if (conversion == DECIMAL) {
+            writer.write(String.format("%d", arg));
+        } else {
+            writer.write(String.valueOf(arg));
+        }
+    }
+
+    private static void writeDecimal(Writer writer, long value) throws IOException {
+        long negative = value;
+        if (value < 0) {
+            writer.write('-');
+        } else {
+            negative = -value;
+        }
+        long divisor = 1;
+        while (negative / divisor <= -10) {
+            divisor *= 10;
+        }
+        while (divisor > 0) {
+            writer.write((char) ('0' - negative / divisor));
+            negative %= divisor;
+            divisor /= 10;
+        }
+    }
+}
@@ -10,4 +10,12 @@ public interface LocalizedIOService extends LocalizedMessagesService, IOService
     int readIntForRangeLocalized(int min, int max, String errorMessageCode);
 
     int readIntForRangeWithPromptLocalized(int min, int max, String promptCode, String errorMessageCode);
+
+    default void printLineLocalized(MessageCode code) {
+        printLine(getMessage(code));
+    }
+
+    default void printFormattedLineLocalized(MessageCode code, Object ...args) {
+        printLine(getMessage(code, args));
+    }
 }
@@ -21,6 +21,16 @@ public class LocalizedIOServiceImpl implements LocalizedIOService {
         ioService.printFormattedLine(s, args);
     }
 
+    @Override
+    public void printBytes(byte[] utf8Line) {
+        ioService.printBytes(utf8Line);
+    }
+
+    @Override
+    public void flush() {
+        ioService.flush();
+    }
+
     @Override
     public String readString() {
         return ioService.readString();
@@ -73,4 +83,9 @@ public class LocalizedIOServiceImpl implements LocalizedIOService {
     public String getMessage(String code, Object... args) {
         return localizedMessagesService.getMessage(code, args);
     }
+
+    @Override
+    public String getMessage(MessageCode code, Object... args) {
+        return localizedMessagesService.getMessage(code, args);
+    }
 }
@@ -2,4 +2,8 @@ package ru.otus.hw.service;
 
 public interface LocalizedMessagesService {
     String getMessage(String code, Object ...args);
+
+    default String getMessage(MessageCode code, Object ...args) {
+        return getMessage(code.getCode(), args);
+    }
 }
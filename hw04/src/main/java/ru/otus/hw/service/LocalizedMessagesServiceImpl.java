@@ -1,9 +1,9 @@
 package ru.otus.hw.service;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.context.MessageSource;
 import org.springframework.stereotype.Service;
 import ru.otus.hw.config.LocaleConfig;
+import ru.otus.hw.metrics.QuizMetrics;
 
 @RequiredArgsConstructor
 @Service
@@ -11,10 +11,19 @@ public class LocalizedMessagesServiceImpl implements LocalizedMessagesService {
 
     private final LocaleConfig localeConfig;
 
-    private final MessageSource messageSource;
+    private final MessageCatalog messageCatalog;
+
+    private final QuizMetrics quizMetrics;
 
     @Override
     public String getMessage(String code, Object... args) {
-        return messageSource.getMessage(code, args, localeConfig.getLocale());
+        quizMetrics.countMessageLookup();
+        return messageCatalog.getMessage(code, args, localeConfig.getLocale());
+    }
+
+    @Override
+    public String getMessage(MessageCode code, Object... args) {
+        quizMetrics.countMessageLookup();
+        return messageCatalog.getMessage(code, args, localeConfig.getLocale());
     }
 }
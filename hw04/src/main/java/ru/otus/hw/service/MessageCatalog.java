@@ -0,0 +1,122 @@
+package ru.otus.hw.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.MessageSource;
+import org.springframework.stereotype.Component;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@RequiredArgsConstructor
+public class MessageCatalog {
+
+    private final MessageSource messageSource;
+
+    private final Map<Locale, CompiledMessage[]> tables = new ConcurrentHashMap<>();
+
+    public String getMessage(MessageCode code, Object[] args, Locale locale) {
+        var message = table(locale)[code.ordinal()];
+        if (message == null) {
+            return messageSource.getMessage(code.getCode(), args, locale);
+        }
+        return message.format(args);
+    }
+
+    public String getMessage(String code, Object[] args, Locale locale) {
+        var messageCode = MessageCode.find(code);
+        if (messageCode == null) {
+            return messageSource.getMessage(code, args, locale);
+        }
+        return getMessage(messageCode, args, locale);
+    }
+
+    private CompiledMessage[] table(Locale locale) {
+        var table = tables.get(locale);
+        return table != null ? table : tables.computeIfAbsent(locale, this::compile);
+    }
+
+    private CompiledMessage[] compile(Locale locale) {
+        var codes = MessageCode.values();
+        var table = new CompiledMessage[codes.length];
+        for (MessageCode code : codes) {
+            String pattern = messageSource.getMessage(code.getCode(), null, null, locale);
+            if (pattern != null) {
+                table[code.ordinal()] = CompiledMessage.compile(pattern, locale);
+            }
+        }
+        return table;
+    }
+
+    private record CompiledMessage(String pattern, MessageFormat format, String[] literals, int[] argIndexes) {
+
+        private static final int MAX_PLAIN_NUMBER = 999;
+
+        static CompiledMessage compile(String pattern, Locale locale) {
+            var format = new MessageFormat(pattern, locale);
+            List<String> literals = new ArrayList<>();
+            List<Integer> argIndexes = new ArrayList<>();
+            if (!split(pattern, literals, argIndexes)) {
+                return new CompiledMessage(pattern, format, null, null);
+            }
+            return new CompiledMessage(pattern, format, literals.toArray(String[]::new),
+                    argIndexes.stream().mapToInt(Integer::intValue).toArray());
+        }
+
+        String format(Object[] args) {
+            if (args == null || args.length == 0) {
+                return pattern;
+            }
+            if (literals != null && isPlain(args)) {
+                var sb = new StringBuilder(pattern.length() + 16 * argIndexes.length).append(literals[0]);
+                for (int i = 0; i < argIndexes.length; i++) {
+                    int index = argIndexes[i];
+                    sb.append(index < args.length ? String.valueOf(args[index]) : "{" + index + "}");
+                    sb.append(literals[i + 1]);
+                }
+                return sb.toString();
+            }
+            synchronized (format) {
+                return format.format(args);
+            }
+        }
+
+        private static boolean isPlain(Object[] args) {
+            for (Object arg : args) {
+                boolean plainNumber = (arg instanceof Integer || arg instanceof Long)
+                        && Math.abs(((Number) arg).longValue()) <= MAX_PLAIN_NUMBER;
+                if (!(arg instanceof String) && !plainNumber) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean split(String pattern, List<String> literals, List<Integer> argIndexes) {
+            if (pattern.indexOf('\'') >= 0) {
+                return false;
+            }
+            int from = 0;
+            for (int open = pattern.indexOf('{'); open >= 0; open = pattern.indexOf('{', from)) {
+                int close = pattern.indexOf('}', open);
+                if (close < 0 || close == open + 1 || close - open > 3) {
+                    return false;
+                }
+                for (int i = open + 1; i < close; i++) {
+                    if (!Character.isDigit(pattern.charAt(i))) {
+                        return false;
+                    }
+                }
+                literals.add(pattern.substring(from, open));
+                argIndexes.add(Integer.parseInt(pattern, open + 1, close, 10));
+                from = close + 1;
+            }
+            literals.add(pattern.substring(from));
+            return pattern.chars().filter(c -> c == '}').count() == argIndexes.size();
+        }
+    }
+}
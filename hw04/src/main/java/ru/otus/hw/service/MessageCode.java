@@ -0,0 +1,46 @@
+package ru.otus.hw.service;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public enum MessageCode {
+    RESULT_TEST_RESULTS("ResultService.test.results"),
+    RESULT_STUDENT("ResultService.student"),
+    RESULT_ANSWERED_QUESTIONS_COUNT("ResultService.answered.questions.count"),
+    RESULT_RIGHT_ANSWERS_COUNT("ResultService.right.answers.count"),
+    RESULT_PASSED_TEST("ResultService.passed.test"),
+    RESULT_FAIL_TEST("ResultService.fail.test"),
+    RESULT_NOT_RECORDED("ResultService.not.recorded"),
+    STUDENT_INPUT_FIRST_NAME("StudentService.input.first.name"),
+    STUDENT_INPUT_LAST_NAME("StudentService.input.last.name"),
+    TEST_ANSWER_THE_QUESTIONS("TestService.answer.the.questions"),
+    TEST_PROMPT_SELECT("TestService.prompt.select"),
+    TEST_PROMPT_QUESTION("TestService.prompt.question"),
+    TEST_ERROR_SELECT("TestService.error.select"),
+    TEST_ERROR_NO_QUESTIONS("TestService.error.noQuestions"),
+    SHELL_RUN_SUCCESS("Shell.method.run.success"),
+    SHELL_GRADE_SUCCESS("Shell.method.grade.success"),
+    SHELL_STATS_SUMMARY("Shell.method.stats.summary"),
+    SHELL_STATS_QUESTION("Shell.method.stats.question"),
+    SHELL_STATS_EMPTY("Shell.method.stats.empty"),
+    SHELL_METRICS_EXPORTED("Shell.method.metrics.exported");
+
+    private static final Map<String, MessageCode> BY_CODE = Arrays.stream(values())
+            .collect(Collectors.toUnmodifiableMap(MessageCode::getCode, Function.identity()));
+
+    private final String code;
+
+    MessageCode(String code) {
+        this.code = code;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public static MessageCode find(String code) {
+        return BY_CODE.get(code);
+    }
+}
@@ -0,0 +1,110 @@
+package ru.otus.hw.service;
+
+import org.springframework.stereotype.Component;
+import ru.otus.hw.config.TestConfig;
+import ru.otus.hw.dao.QuestionDao;
+import ru.otus.hw.domain.IndexedQuestion;
+import ru.otus.hw.domain.Question;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+@Component
+public class QuestionSampler {
+
+    private final Long seed;
+
+    private final AtomicLong sessionIds = new AtomicLong();
+
+    public QuestionSampler(TestConfig testConfig) {
+        this.seed = testConfig.getSamplingSeed();
+    }
+
+    public List<IndexedQuestion> sample(QuestionDao questionDao, int count) {
+        return sample(questionDao, count, sessionIds.incrementAndGet());
+    }
+
+    /**
+     * Samples questions for one session. With a configured seed the selection depends only on the seed and
+     * {@code sessionId}, so concurrent sessions neither share a generator nor change each other's questions.
+     */
+    public List<IndexedQuestion> sample(QuestionDao questionDao, int count, long sessionId) {
+        var random = randomFor(sessionId);
+        if (!questionDao.isIndexed()) {
+            try (Stream<Question> questions = questionDao.stream()) {
+                return sample(questions, count, random);
+            }
+        }
+        int size = questionDao.count();
+        if (size <= count) {
+            var bank = questionDao.findRange(0, size);
+            List<IndexedQuestion> questions = new ArrayList<>(size);
+            for (int index = 0; index < size; index++) {
+                questions.add(new IndexedQuestion(index, bank.get(index)));
+            }
+            return questions;
+        }
+        List<IndexedQuestion> questions = new ArrayList<>(count);
+        for (int index : pickIndices(size, count, random)) {
+            questions.add(new IndexedQuestion(index, questionDao.findByIndex(index)));
+        }
+        return questions;
+    }
+
+    public List<IndexedQuestion> sample(Stream<Question> questions, int count) {
+        return sample(questions, count, randomFor(sessionIds.incrementAndGet()));
+    }
+
+    private List<IndexedQuestion> sample(Stream<Question> questions, int count, Random random) {
+        var reservoir = new IndexedQuestion[count];
+        int seen = 0;
+        Iterator<Question> iterator = questions.iterator();
+        while (iterator.hasNext()) {
+            var question = iterator.next();
+            if (seen < count) {
+                reservoir[seen] = new IndexedQuestion(seen, question);
+            } else {
+                int slot = random.nextInt(seen + 1);
+                if (slot < count) {
+                    reservoir[slot] = new IndexedQuestion(seen, question);
+                }
+            }
+            seen++;
+        }
+        return inBankOrder(reservoir, Math.min(seen, count));
+    }
+
+    private TreeSet<Integer> pickIndices(int size, int count, Random random) {
+        var indices = new TreeSet<Integer>();
+        for (int bound = size - count; bound < size; bound++) {
+            int index = random.nextInt(bound + 1);
+            indices.add(indices.contains(index) ? bound : index);
+        }
+        return indices;
+    }
+
+    private Random randomFor(long sessionId) {
+        return seed == null ? new Random() : new Random(mix(seed ^ sessionId * 0x9E3779B97F4A7C15L));
+    }
+
+    // Stafford's variant 13 of the MurmurHash3 finalizer: java.util.Random seeded with adjacent values
+    // produces correlated first outputs, so session seeds are spread over the whole long range
+    private static long mix(long value) {
+        long mixed = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        mixed = (mixed ^ (mixed >>> 27)) * 0x94D049BB133111EBL;
+        return mixed ^ (mixed >>> 31);
+    }
+
+    private List<IndexedQuestion> inBankOrder(IndexedQuestion[] reservoir, int size) {
+        IndexedQuestion[] selected = Arrays.copyOf(reservoir, size);
+        Arrays.sort(selected, Comparator.comparingInt(IndexedQuestion::index));
+        return Arrays.asList(selected);
+    }
+}
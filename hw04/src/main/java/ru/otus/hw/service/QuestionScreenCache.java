@@ -0,0 +1,81 @@
+package ru.otus.hw.service;
+
+import org.springframework.stereotype.Component;
+import ru.otus.hw.dao.BankVersion;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Rendered UTF-8 question screens, the header line together with the answers, keyed by the bank version,
+ * the locale, the question's position in the bank and its number in the session. A reloaded bank has another
+ * version, so its questions are never shown from the screens of the replaced ones. The cache is split into
+ * independently locked stripes, each evicting its least recently shown screens first.
+ */
+@Component
+public class QuestionScreenCache {
+
+    private static final int STRIPES = 16;
+
+    private static final int MAX_SCREENS = 10_000;
+
+    private final List<Map<ScreenKey, byte[]>> stripes = Stream.<Map<ScreenKey, byte[]>>generate(
+                    () -> new Stripe(MAX_SCREENS / STRIPES))
+            .limit(STRIPES)
+            .toList();
+
+    public byte[] get(BankVersion bankVersion, Locale locale, int bankIndex, int number, Supplier<String> renderer) {
+        var key = new ScreenKey(bankVersion, locale, bankIndex, number);
+        var stripe = stripeOf(key);
+        byte[] screen;
+        synchronized (stripe) {
+            screen = stripe.get(key);
+        }
+        if (screen != null) {
+            return screen;
+        }
+        screen = renderer.get().getBytes(StandardCharsets.UTF_8);
+        synchronized (stripe) {
+            stripe.put(key, screen);
+        }
+        return screen;
+    }
+
+    public int size() {
+        int size = 0;
+        for (var stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    private Map<ScreenKey, byte[]> stripeOf(ScreenKey key) {
+        int hash = key.hashCode();
+        return stripes.get((hash ^ (hash >>> 16)) & (STRIPES - 1));
+    }
+
+    private record ScreenKey(BankVersion bankVersion, Locale locale, int bankIndex, int number) {
+    }
+
+    private static class Stripe extends LinkedHashMap<ScreenKey, byte[]> {
+
+        private final int maxScreens;
+
+        Stripe(int maxScreens) {
+            super(16, 0.75f, true);
+            this.maxScreens = maxScreens;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<ScreenKey, byte[]> eldest) {
+            return size() > maxScreens;
+        }
+    }
+}
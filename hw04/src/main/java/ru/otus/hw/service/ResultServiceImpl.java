@@ -4,6 +4,11 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import ru.otus.hw.config.TestConfig;
 import ru.otus.hw.domain.TestResult;
+import ru.otus.hw.journal.ResultSink;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Service
 @RequiredArgsConstructor
@@ -13,8 +18,11 @@ public class ResultServiceImpl implements ResultService {
 
     private final LocalizedIOService ioService;
 
+    private final ResultSink resultSink;
+
     @Override
     public void showResult(TestResult testResult) {
+        boolean recorded = isRecorded(resultSink.record(testResult));
         ioService.printLine("");
         ioService.printLineLocalized("ResultService.test.results");
         ioService.printFormattedLineLocalized("ResultService.student",
@@ -26,8 +34,22 @@ public class ResultServiceImpl implements ResultService {
 
         if (testResult.getRightAnswersCount() >= testConfig.getRightAnswersCountToPass()) {
             ioService.printLineLocalized("ResultService.passed.test");
-            return;
+        } else {
+            ioService.printLineLocalized("ResultService.fail.test");
+        }
+        if (!recorded) {
+            ioService.printLineLocalized("ResultService.not.recorded");
+        }
+        ioService.flush();
+    }
+
+    // the sink bounds the wait and logs the reason, the student only learns that the result is not saved
+    private static boolean isRecorded(CompletableFuture<Void> recorded) {
+        try {
+            recorded.join();
+            return true;
+        } catch (CompletionException | CancellationException e) {
+            return false;
         }
-        ioService.printLineLocalized("ResultService.fail.test");
     }
 }
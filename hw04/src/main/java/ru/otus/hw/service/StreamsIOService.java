@@ -1,25 +1,48 @@
 package ru.otus.hw.service;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
+import ru.otus.hw.metrics.QuizMetrics;
 
 import java.io.InputStream;
 import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.Scanner;
 
 @Service
+@ConditionalOnProperty(prefix = "test", name = "io", havingValue = "streams", matchIfMissing = true)
 public class StreamsIOService implements IOService {
     private static final int MAX_ATTEMPTS = 10;
 
     private final PrintStream printStream;
 
+    private final boolean utf8Output;
+
     private final Scanner scanner;
 
+    private final QuizMetrics quizMetrics;
+
+    @Autowired
     public StreamsIOService(@Value("#{T(System).out}") PrintStream printStream,
-                            @Value("#{T(System).in}") InputStream inputStream) {
+                            @Value("#{T(System).in}") InputStream inputStream,
+                            QuizMetrics quizMetrics) {
+
+        this(printStream, charsetOf(printStream), inputStream, quizMetrics);
+    }
+
+    /**
+     * @param charset the charset {@code printStream} encodes text with
+     */
+    public StreamsIOService(PrintStream printStream, Charset charset, InputStream inputStream,
+                            QuizMetrics quizMetrics) {
 
         this.printStream = printStream;
+        this.utf8Output = StandardCharsets.UTF_8.equals(charset);
         this.scanner = new Scanner(inputStream);
+        this.quizMetrics = quizMetrics;
     }
 
     @Override
@@ -32,6 +55,16 @@ public class StreamsIOService implements IOService {
         printStream.printf(s + "%n", args);
     }
 
+    @Override
+    public void printBytes(byte[] utf8Line) {
+        if (utf8Output) {
+            printStream.write(utf8Line, 0, utf8Line.length);
+            printStream.println();
+        } else {
+            printStream.println(new String(utf8Line, StandardCharsets.UTF_8));
+        }
+    }
+
     @Override
     public String readString() {
         return scanner.nextLine();
@@ -52,11 +85,14 @@ public class StreamsIOService implements IOService {
                 if (intValue < min || intValue > max) {
                     throw new IllegalArgumentException();
                 }
+                quizMetrics.recordInputRetries(i);
                 return intValue;
             } catch (IllegalArgumentException e) {
+                quizMetrics.countInvalidInput();
                 printLine(errorMessage);
             }
         }
+        quizMetrics.recordInputRetries(MAX_ATTEMPTS);
         throw new IllegalArgumentException("Error during reading int value");
     }
 
@@ -65,4 +101,11 @@ public class StreamsIOService implements IOService {
         printLine(prompt);
         return readIntForRange(min, max, errorMessage);
     }
+
+    // PrintStream reports its charset only since JDK 18: System.out encodes with sun.stdout.encoding when the JVM
+    // sets it for a console, any other stream built without an explicit charset uses the default one
+    private static Charset charsetOf(PrintStream printStream) {
+        String encoding = printStream == System.out ? System.getProperty("sun.stdout.encoding") : null;
+        return encoding == null ? Charset.defaultCharset() : Charset.forName(encoding);
+    }
 }
@@ -0,0 +1,128 @@
+package ru.otus.hw.service;
+
+import ru.otus.hw.dao.binary.BinaryQuestionBank;
+import ru.otus.hw.domain.Answer;
+import ru.otus.hw.domain.CompactTestResult;
+import ru.otus.hw.domain.Question;
+import ru.otus.hw.domain.TestResult;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converts results of a question bank between {@link TestResult} and {@link CompactTestResult}.
+ * <p>
+ * Questions are looked up by the bank position recorded in the result. Only results without positions
+ * fall back to a search by value: an index of the bank built on first use, or a scan of an off-heap bank,
+ * which is neither copied nor indexed so that its questions are not decoded onto the heap to stay there.
+ */
+public class TestResultCompactor {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final List<Question> bank;
+
+    private final long bankVersion;
+
+    private volatile Map<Question, Integer> indexByValue;
+
+    public TestResultCompactor(List<Question> bank) {
+        if (bank.size() > CompactTestResult.MAX_QUESTION_INDEX + 1) {
+            throw new IllegalArgumentException("Question bank is too large: " + bank.size());
+        }
+        this.bank = bank instanceof BinaryQuestionBank ? bank : List.copyOf(bank);
+        this.bankVersion = versionOf(this.bank);
+    }
+
+    public static long versionOf(List<Question> bank) {
+        long hash = FNV_OFFSET;
+        for (Question question : bank) {
+            hash = mix(hash, question.text());
+            for (Answer answer : question.answers()) {
+                hash = mix(hash, answer.text());
+                hash = (hash ^ (answer.isCorrect() ? 1 : 0)) * FNV_PRIME;
+            }
+            hash = (hash ^ 0xFF) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    public long getBankVersion() {
+        return bankVersion;
+    }
+
+    public CompactTestResult compact(TestResult result) {
+        List<Question> questions = result.getAnsweredQuestions();
+        int[] answers = new int[questions.size()];
+        long[] rightAnswers = new long[(questions.size() + 63) >>> 6];
+        for (int i = 0; i < answers.length; i++) {
+            Question question = questions.get(i);
+            int answerIndex = result.getChosenAnswer(i);
+            answers[i] = CompactTestResult.pack(indexOf(result.getBankIndex(i), question), answerIndex);
+            if (question.answers().get(answerIndex).isCorrect()) {
+                rightAnswers[i >>> 6] |= 1L << i;
+            }
+        }
+        return new CompactTestResult(bankVersion, result.getStudent(), answers, rightAnswers);
+    }
+
+    public TestResult expand(CompactTestResult compact) {
+        if (compact.bankVersion() != bankVersion) {
+            throw new IllegalArgumentException("Result of bank version %d cannot be read with bank version %d"
+                    .formatted(compact.bankVersion(), bankVersion));
+        }
+        var result = new TestResult(compact.student());
+        for (int i = 0; i < compact.answeredCount(); i++) {
+            int bankIndex = compact.questionIndex(i);
+            result.applyAnswer(bankIndex, bank.get(bankIndex), compact.answerIndex(i));
+        }
+        return result;
+    }
+
+    private int indexOf(int bankIndex, Question question) {
+        if (bankIndex >= 0 && bankIndex < bank.size() && isAt(bankIndex, question)) {
+            return bankIndex;
+        }
+        Integer index = bank instanceof BinaryQuestionBank ? scan(question) : indexByValue().get(question);
+        if (index == null) {
+            throw new IllegalArgumentException("Question is not in the bank: " + question.text());
+        }
+        return index;
+    }
+
+    private boolean isAt(int bankIndex, Question question) {
+        var bankQuestion = bank.get(bankIndex);
+        return bankQuestion == question || bankQuestion.equals(question);
+    }
+
+    private Integer scan(Question question) {
+        for (int i = 0; i < bank.size(); i++) {
+            if (isAt(i, question)) {
+                return i;
+            }
+        }
+        return null;
+    }
+
+    private Map<Question, Integer> indexByValue() {
+        var index = indexByValue;
+        if (index == null) {
+            index = new HashMap<>();
+            for (int i = 0; i < bank.size(); i++) {
+                index.putIfAbsent(bank.get(i), i);
+            }
+            indexByValue = index;
+        }
+        return index;
+    }
+
+    private static long mix(long hash, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+        }
+        return hash;
+    }
+}
@@ -2,6 +2,7 @@ package ru.otus.hw.service;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import ru.otus.hw.metrics.QuizMetrics;
 
 @Service
 @RequiredArgsConstructor
@@ -13,10 +14,14 @@ public class TestRunnerServiceImpl implements TestRunnerService {
 
     private final ResultService resultService;
 
+    private final QuizMetrics quizMetrics;
+
     @Override
     public void run() {
+        long startedAt = System.nanoTime();
         var student = studentService.determineCurrentStudent();
         var testResult = testService.executeTestFor(student);
         resultService.showResult(testResult);
+        quizMetrics.recordSession(System.nanoTime() - startedAt);
     }
 }
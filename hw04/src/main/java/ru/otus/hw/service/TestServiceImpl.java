@@ -2,14 +2,22 @@ package ru.otus.hw.service;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import ru.otus.hw.config.LocaleConfig;
+import ru.otus.hw.config.TestConfig;
+import ru.otus.hw.dao.BankVersion;
 import ru.otus.hw.dao.QuestionDao;
 import ru.otus.hw.domain.Answer;
+import ru.otus.hw.domain.IndexedQuestion;
 import ru.otus.hw.domain.Question;
 import ru.otus.hw.domain.Student;
 import ru.otus.hw.domain.TestResult;
 import ru.otus.hw.exceptions.QuestionReadException;
+import ru.otus.hw.stats.QuestionStatistics;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -19,43 +27,77 @@ public class TestServiceImpl implements TestService {
 
     private final QuestionDao questionDao;
 
+    private final TestConfig testConfig;
+
+    private final QuestionSampler questionSampler;
+
+    private final QuestionScreenCache questionScreenCache;
+
+    private final LocaleConfig localeConfig;
+
+    private final QuestionStatistics questionStatistics;
+
     @Override
     public TestResult executeTestFor(Student student) {
         ioService.printLine("");
-        ioService.printLineLocalized("TestService.answer.the.questions");
+        ioService.printLineLocalized(MessageCode.TEST_ANSWER_THE_QUESTIONS);
         ioService.printLine("");
 
-        var questions = questionDao.findAll();
-        if (questions.isEmpty()) {
-            throw new QuestionReadException(ioService.getMessage("TestService.error.noQuestions"));
+        try (Stream<IndexedQuestion> questionStream = openQuestions()) {
+            Iterator<IndexedQuestion> questions = questionStream.iterator();
+            if (!questions.hasNext()) {
+                throw new QuestionReadException(ioService.getMessage(MessageCode.TEST_ERROR_NO_QUESTIONS));
+            }
+            var testResult = new TestResult(student);
+            var bankVersion = questionDao.getBankVersion();
+            int questionIndex = 1;
+
+            while (questions.hasNext()) {
+                askAndEvaluateQuestion(questions.next(), bankVersion, testResult, questionIndex++);
+            }
+            questionStatistics.recordResult(testResult);
+            return testResult;
         }
-        var testResult = new TestResult(student);
-        int questionIndex = 1;
+    }
 
-        for (var question : questions) {
-            askAndEvaluateQuestion(question, testResult, questionIndex++);
+    private Stream<IndexedQuestion> openQuestions() {
+        int questionsPerSession = testConfig.getQuestionsPerSession();
+        if (questionsPerSession <= 0) {
+            var bankIndex = new AtomicInteger();
+            return questionDao.stream().map(question -> new IndexedQuestion(bankIndex.getAndIncrement(), question));
         }
-        return testResult;
+        return questionSampler.sample(questionDao, questionsPerSession).stream();
     }
 
-    private void askAndEvaluateQuestion(Question question, TestResult result, int index) {
-        printQuestionWithAnswers(question, index);
+    private void askAndEvaluateQuestion(IndexedQuestion indexedQuestion, BankVersion bankVersion, TestResult result,
+                                        int index) {
+        var question = indexedQuestion.question();
+        printQuestionWithAnswers(indexedQuestion, bankVersion, index);
 
         int max = question.answers().size();
-        String prompt = ioService.getMessage("TestService.prompt.select");
-        String errorMessage = ioService.getMessage("TestService.error.select", 1, max);
+        String prompt = ioService.getMessage(MessageCode.TEST_PROMPT_SELECT);
+        String errorMessage = ioService.getMessage(MessageCode.TEST_ERROR_SELECT, 1, max);
 
         int choice = ioService.readIntForRangeWithPrompt(1, max, prompt, errorMessage);
 
-        boolean isAnswerValid = question.answers().get(choice - 1).isCorrect();
-        result.applyAnswer(question, isAnswerValid);
+        questionStatistics.recordAnswer(bankVersion, indexedQuestion.index(), question, choice - 1);
+        result.applyAnswer(indexedQuestion.index(), question, choice - 1);
+    }
+
+    private void printQuestionWithAnswers(IndexedQuestion indexedQuestion, BankVersion bankVersion, int index) {
+        var question = indexedQuestion.question();
+        byte[] screen = questionScreenCache.get(bankVersion, localeConfig.getLocale(), indexedQuestion.index(), index,
+                () -> renderScreen(question, index));
+        ioService.printBytes(screen);
     }
 
-    private void printQuestionWithAnswers(Question question, int index) {
-        ioService.printFormattedLineLocalized("TestService.prompt.question", index, question.text());
+    private String renderScreen(Question question, int index) {
+        var screen = new StringBuilder(ioService.getMessage(MessageCode.TEST_PROMPT_QUESTION, index, question.text()));
         List<Answer> answers = question.answers();
         for (int i = 0; i < answers.size(); i++) {
-            ioService.printFormattedLine("  %d) %s", i + 1, answers.get(i).text());
+            screen.append(System.lineSeparator());
+            screen.append("  ").append(i + 1).append(") ").append(answers.get(i).text());
         }
+        return screen.toString();
     }
 }
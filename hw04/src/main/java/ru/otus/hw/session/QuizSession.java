@@ -0,0 +1,43 @@
+package ru.otus.hw.session;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import ru.otus.hw.domain.TestResult;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+@RequiredArgsConstructor
+public class QuizSession {
+
+    @Getter
+    private final long id;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.NEW);
+
+    private final CompletableFuture<TestResult> result = new CompletableFuture<>();
+
+    public boolean isAttached() {
+        return state.get() == State.ATTACHED;
+    }
+
+    public boolean isDone() {
+        return result.isDone();
+    }
+
+    boolean markAttached() {
+        return state.compareAndSet(State.NEW, State.ATTACHED);
+    }
+
+    boolean markCancelled() {
+        return state.compareAndSet(State.NEW, State.CANCELLED);
+    }
+
+    CompletableFuture<TestResult> result() {
+        return result;
+    }
+
+    private enum State {
+        NEW, ATTACHED, CANCELLED
+    }
+}
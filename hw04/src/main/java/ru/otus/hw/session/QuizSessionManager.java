@@ -0,0 +1,171 @@
+package ru.otus.hw.session;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Service;
+import ru.otus.hw.config.SessionConfig;
+import ru.otus.hw.domain.TestResult;
+import ru.otus.hw.service.IOService;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs every session on its own platform thread: sessions block on student input and JDK 17 has no virtual
+ * threads, so the pool is sized for the number of concurrent sessions rather than for the CPUs.
+ * A waiting session costs a parked thread with a small stack, idle threads end after a minute.
+ */
+@Slf4j
+@Service
+public class QuizSessionManager implements DisposableBean {
+
+    private static final long IDLE_THREAD_SECONDS = 60;
+
+    // sessions run shallow call stacks, a smaller stack keeps 10k threads within 5 GB of address space
+    private static final long SESSION_STACK_BYTES = 512 * 1024;
+
+    private final QuizSessionRunner sessionRunner;
+
+    private final long attachTimeoutMillis;
+
+    private final int capacity;
+
+    private final ThreadPoolExecutor executor;
+
+    private final Map<Long, QuizSession> sessions = new ConcurrentHashMap<>();
+
+    private final AtomicLong sessionIds = new AtomicLong();
+
+    public QuizSessionManager(QuizSessionRunner sessionRunner, SessionConfig sessionConfig) {
+        this.sessionRunner = sessionRunner;
+        this.attachTimeoutMillis = sessionConfig.getSessionAttachTimeoutMillis();
+        this.capacity = sessionConfig.getSessionThreads() + sessionConfig.getSessionQueueCapacity();
+        this.executor = newSessionExecutor(sessionConfig);
+    }
+
+    /**
+     * Registers a session that waits for its IO. It is cancelled if no IO is attached within the attach timeout.
+     */
+    public QuizSession start() {
+        var session = new QuizSession(sessionIds.incrementAndGet());
+        sessions.put(session.getId(), session);
+        CompletableFuture.delayedExecutor(attachTimeoutMillis, TimeUnit.MILLISECONDS)
+                .execute(() -> cancel(session.getId()));
+        return session;
+    }
+
+    public void attach(long sessionId, IOService ioService) {
+        var session = getSession(sessionId);
+        if (!session.markAttached()) {
+            throw new IllegalStateException("IO is already attached to session " + sessionId + " or it is cancelled");
+        }
+        try {
+            executor.execute(() -> run(session, ioService));
+        } catch (RejectedExecutionException e) {
+            sessions.remove(sessionId);
+            session.result().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    public CompletableFuture<TestResult> submit(IOService ioService) {
+        var session = new QuizSession(sessionIds.incrementAndGet());
+        session.markAttached();
+        try {
+            executor.execute(() -> run(session, ioService));
+        } catch (RejectedExecutionException e) {
+            session.result().completeExceptionally(e);
+        }
+        return session.result().copy();
+    }
+
+    /**
+     * Cancels a started session that has no IO attached yet, returns false if it is attached or unknown.
+     */
+    public boolean cancel(long sessionId) {
+        var session = sessions.get(sessionId);
+        if (session == null || !session.markCancelled()) {
+            return false;
+        }
+        sessions.remove(sessionId);
+        session.result().cancel(false);
+        return true;
+    }
+
+    public TestResult await(QuizSession session, Duration timeout) throws InterruptedException, TimeoutException {
+        try {
+            return session.result().get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Session " + session.getId() + " failed", e.getCause());
+        }
+    }
+
+    /**
+     * Returns how many sessions can be running or waiting for a thread at once, more are rejected.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getActiveSessionCount() {
+        return sessions.size();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private QuizSession getSession(long sessionId) {
+        var session = sessions.get(sessionId);
+        if (session == null) {
+            throw new IllegalArgumentException("Unknown session " + sessionId);
+        }
+        return session;
+    }
+
+    private void run(QuizSession session, IOService ioService) {
+        try {
+            var result = sessionRunner.run(ioService);
+            sessions.remove(session.getId());
+            session.result().complete(result);
+        } catch (RuntimeException e) {
+            log.debug("Session {} failed", session.getId(), e);
+            sessions.remove(session.getId());
+            session.result().completeExceptionally(e);
+        }
+    }
+
+    private static ThreadPoolExecutor newSessionExecutor(SessionConfig sessionConfig) {
+        var threadIds = new AtomicLong();
+        int threads = sessionConfig.getSessionThreads();
+        int queueCapacity = sessionConfig.getSessionQueueCapacity();
+        // without a queue an idle thread takes the next session before a new thread is started
+        int coreThreads = queueCapacity > 0 ? threads : 0;
+        BlockingQueue<Runnable> queue = queueCapacity > 0 ? new ArrayBlockingQueue<>(queueCapacity)
+                : new SynchronousQueue<>();
+        var executor = new ThreadPoolExecutor(coreThreads, threads, IDLE_THREAD_SECONDS, TimeUnit.SECONDS, queue,
+                task -> {
+                    var thread = new Thread(null, task, "quiz-session-" + threadIds.incrementAndGet(),
+                            SESSION_STACK_BYTES);
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
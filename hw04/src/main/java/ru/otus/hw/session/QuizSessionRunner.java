@@ -0,0 +1,84 @@
+package ru.otus.hw.session;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ru.otus.hw.config.LocaleConfig;
+import ru.otus.hw.config.TestConfig;
+import ru.otus.hw.dao.QuestionDao;
+import ru.otus.hw.domain.TestResult;
+import ru.otus.hw.journal.ResultSink;
+import ru.otus.hw.metrics.QuizMetrics;
+import ru.otus.hw.service.IOService;
+import ru.otus.hw.service.LocalizedMessagesService;
+import ru.otus.hw.service.LocalizedIOServiceImpl;
+import ru.otus.hw.service.LocalizedMessagesServiceImpl;
+import ru.otus.hw.service.MessageCatalog;
+import ru.otus.hw.service.QuestionSampler;
+import ru.otus.hw.service.QuestionScreenCache;
+import ru.otus.hw.service.ResultServiceImpl;
+import ru.otus.hw.service.StudentServiceImpl;
+import ru.otus.hw.service.TestServiceImpl;
+import ru.otus.hw.stats.QuestionStatistics;
+
+@Component
+@RequiredArgsConstructor
+public class QuizSessionRunner {
+
+    private final LocaleConfig localeConfig;
+
+    private final MessageCatalog messageCatalog;
+
+    private final QuestionDao questionDao;
+
+    private final TestConfig testConfig;
+
+    private final QuestionSampler questionSampler;
+
+    private final QuestionScreenCache questionScreenCache;
+
+    private final ResultSink resultSink;
+
+    private final QuestionStatistics questionStatistics;
+
+    private final QuizMetrics quizMetrics;
+
+    public TestResult run(IOService ioService) {
+        return execute(ioService, questionDao, newMessagesService(), null, null).result();
+    }
+
+    /**
+     * Runs a session the same way as {@link #run}, additionally timing every DAO call and message lookup.
+     */
+    public QuizSessionTimings runTimed(IOService ioService) {
+        var daoClock = new StageClock();
+        var messagesClock = new StageClock();
+        return execute(ioService, new TimedQuestionDao(questionDao, daoClock),
+                new TimedMessagesService(newMessagesService(), messagesClock), daoClock, messagesClock);
+    }
+
+    private LocalizedMessagesService newMessagesService() {
+        return new LocalizedMessagesServiceImpl(localeConfig, messageCatalog, quizMetrics);
+    }
+
+    private QuizSessionTimings execute(IOService ioService, QuestionDao sessionQuestionDao,
+                                       LocalizedMessagesService messagesService,
+                                       StageClock daoClock, StageClock messagesClock) {
+        var localizedIOService = new LocalizedIOServiceImpl(messagesService, ioService);
+        var studentService = new StudentServiceImpl(localizedIOService);
+        var testService = new TestServiceImpl(localizedIOService, sessionQuestionDao, testConfig, questionSampler,
+                questionScreenCache, localeConfig, questionStatistics);
+        var resultService = new ResultServiceImpl(testConfig, localizedIOService, resultSink);
+
+        long startedAt = System.nanoTime();
+        var student = studentService.determineCurrentStudent();
+        long studentDoneAt = System.nanoTime();
+        var testResult = testService.executeTestFor(student);
+        long testDoneAt = System.nanoTime();
+        resultService.showResult(testResult);
+        long resultDoneAt = System.nanoTime();
+        quizMetrics.recordSession(resultDoneAt - startedAt);
+        return new QuizSessionTimings(testResult, studentDoneAt - startedAt, testDoneAt - studentDoneAt,
+                resultDoneAt - testDoneAt, daoClock == null ? 0 : daoClock.nanos(),
+                messagesClock == null ? 0 : messagesClock.nanos());
+    }
+}
@@ -0,0 +1,15 @@
+package ru.otus.hw.session;
+
+import ru.otus.hw.domain.TestResult;
+
+/**
+ * Wall-clock time of the student, test and result stages of one session. {@code daoNanos} and
+ * {@code messagesNanos} are the parts of these stages spent in question DAO calls and message lookups.
+ */
+public record QuizSessionTimings(TestResult result, long studentNanos, long testNanos, long resultNanos,
+                                 long daoNanos, long messagesNanos) {
+
+    public long totalNanos() {
+        return studentNanos + testNanos + resultNanos;
+    }
+}
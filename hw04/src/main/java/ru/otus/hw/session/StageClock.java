@@ -0,0 +1,17 @@
+package ru.otus.hw.session;
+
+/**
+ * Time spent in one stage of a single session, the session runs on one thread so no synchronization is needed.
+ */
+final class StageClock {
+
+    private long nanos;
+
+    void record(long startedAt) {
+        nanos += System.nanoTime() - startedAt;
+    }
+
+    long nanos() {
+        return nanos;
+    }
+}
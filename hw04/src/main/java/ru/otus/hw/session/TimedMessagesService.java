@@ -0,0 +1,36 @@
+package ru.otus.hw.session;
+
+import lombok.RequiredArgsConstructor;
+import ru.otus.hw.service.LocalizedMessagesService;
+import ru.otus.hw.service.MessageCode;
+
+/**
+ * Charges the time of every message lookup to a {@link StageClock}.
+ */
+@RequiredArgsConstructor
+class TimedMessagesService implements LocalizedMessagesService {
+
+    private final LocalizedMessagesService delegate;
+
+    private final StageClock clock;
+
+    @Override
+    public String getMessage(String code, Object... args) {
+        long startedAt = System.nanoTime();
+        try {
+            return delegate.getMessage(code, args);
+        } finally {
+            clock.record(startedAt);
+        }
+    }
+
+    @Override
+    public String getMessage(MessageCode code, Object... args) {
+        long startedAt = System.nanoTime();
+        try {
+            return delegate.getMessage(code, args);
+        } finally {
+            clock.record(startedAt);
+        }
+    }
+}
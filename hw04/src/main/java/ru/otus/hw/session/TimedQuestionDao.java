@@ -0,0 +1,140 @@
+package ru.otus.hw.session;
+
+import lombok.RequiredArgsConstructor;
+import ru.otus.hw.dao.BankVersion;
+import ru.otus.hw.dao.QuestionDao;
+import ru.otus.hw.domain.Question;
+
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Charges the time of every DAO call to a {@link StageClock}, including reading a lazy question stream.
+ */
+@RequiredArgsConstructor
+class TimedQuestionDao implements QuestionDao {
+
+    private final QuestionDao delegate;
+
+    private final StageClock clock;
+
+    @Override
+    public List<Question> findAll() {
+        long startedAt = System.nanoTime();
+        try {
+            return delegate.findAll();
+        } finally {
+            clock.record(startedAt);
+        }
+    }
+
+    @Override
+    public List<Question> findAll(String fileName) {
+        long startedAt = System.nanoTime();
+        try {
+            return delegate.findAll(fileName);
+        } finally {
+            clock.record(startedAt);
+        }
+    }
+
+    @Override
+    public Stream<Question> stream() {
+        long startedAt = System.nanoTime();
+        try {
+            var questions = delegate.stream();
+            return StreamSupport.stream(new TimedSpliterator(questions.spliterator()), false)
+                    .onClose(questions::close);
+        } finally {
+            clock.record(startedAt);
+        }
+    }
+
+    @Override
+    public int count() {
+        long startedAt = System.nanoTime();
+        try {
+            return delegate.count();
+        } finally {
+            clock.record(startedAt);
+        }
+    }
+
+    @Override
+    public Question findByIndex(int index) {
+        long startedAt = System.nanoTime();
+        try {
+            return delegate.findByIndex(index);
+        } finally {
+            clock.record(startedAt);
+        }
+    }
+
+    @Override
+    public List<Question> findRange(int from, int to) {
+        long startedAt = System.nanoTime();
+        try {
+            return delegate.findRange(from, to);
+        } finally {
+            clock.record(startedAt);
+        }
+    }
+
+    @Override
+    public boolean isIndexed() {
+        long startedAt = System.nanoTime();
+        try {
+            return delegate.isIndexed();
+        } finally {
+            clock.record(startedAt);
+        }
+    }
+
+    @Override
+    public BankVersion getBankVersion() {
+        long startedAt = System.nanoTime();
+        try {
+            return delegate.getBankVersion();
+        } finally {
+            clock.record(startedAt);
+        }
+    }
+
+    // the consumer only hands the question over to the iterator of the test service, so it is timed along
+    private class TimedSpliterator implements Spliterator<Question> {
+
+        private final Spliterator<Question> questions;
+
+        TimedSpliterator(Spliterator<Question> questions) {
+            this.questions = questions;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Question> action) {
+            long startedAt = System.nanoTime();
+            try {
+                return questions.tryAdvance(action);
+            } finally {
+                clock.record(startedAt);
+            }
+        }
+
+        @Override
+        public Spliterator<Question> trySplit() {
+            return null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return questions.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return questions.characteristics() & ~(Spliterator.SIZED | Spliterator.SUBSIZED);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package ru.otus.hw.shell;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.shell.standard.ShellComponent;
+import org.springframework.shell.standard.ShellMethod;
+import org.springframework.shell.standard.ShellOption;
+import ru.otus.hw.grading.BulkGradingService;
+import ru.otus.hw.service.LocalizedIOService;
+import ru.otus.hw.service.MessageCode;
+
+import java.nio.file.Path;
+
+@ShellComponent(value = "Bulk Grading Commands")
+@RequiredArgsConstructor
+public class BulkGradingShellCommands {
+    private final LocalizedIOService ioService;
+
+    private final BulkGradingService bulkGradingService;
+
+    @ShellMethod(value = "Grade answer sheets from a file", key = {"g", "grade"})
+    public String grade(@ShellOption(value = {"--sheets", "-s"}) String sheets,
+                        @ShellOption(value = {"--results", "-r"}) String results) {
+        var summary = bulkGradingService.grade(Path.of(sheets), Path.of(results));
+        return ioService.getMessage(MessageCode.SHELL_GRADE_SUCCESS, summary.sheets(), summary.passed(),
+                summary.failed(), summary.invalid(), results);
+    }
+}
@@ -0,0 +1,28 @@
+package ru.otus.hw.shell;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.shell.standard.ShellComponent;
+import org.springframework.shell.standard.ShellMethod;
+import org.springframework.shell.standard.ShellOption;
+import ru.otus.hw.metrics.QuizMetrics;
+import ru.otus.hw.service.LocalizedIOService;
+import ru.otus.hw.service.MessageCode;
+
+import java.nio.file.Path;
+
+@ShellComponent(value = "Metrics Commands")
+@RequiredArgsConstructor
+public class MetricsShellCommands {
+    private final LocalizedIOService ioService;
+
+    private final QuizMetrics quizMetrics;
+
+    @ShellMethod(value = "Show quiz metrics or write them to a file", key = {"m", "metrics"})
+    public String metrics(@ShellOption(value = {"--output", "-o"}, defaultValue = ShellOption.NULL) String output) {
+        if (output == null) {
+            return String.join(System.lineSeparator(), quizMetrics.dump());
+        }
+        quizMetrics.export(Path.of(output));
+        return ioService.getMessage(MessageCode.SHELL_METRICS_EXPORTED, output);
+    }
+}
@@ -0,0 +1,50 @@
+package ru.otus.hw.shell;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.shell.standard.ShellComponent;
+import org.springframework.shell.standard.ShellMethod;
+import ru.otus.hw.service.LocalizedIOService;
+import ru.otus.hw.service.MessageCode;
+import ru.otus.hw.stats.QuestionSnapshot;
+import ru.otus.hw.stats.QuestionStatistics;
+
+import java.util.Locale;
+
+@ShellComponent(value = "Statistics Commands")
+@RequiredArgsConstructor
+public class StatisticsShellCommands {
+    private final LocalizedIOService ioService;
+
+    private final QuestionStatistics questionStatistics;
+
+    @ShellMethod(value = "Show answer statistics of all sessions", key = {"st", "stats"})
+    public String stats() {
+        var snapshot = questionStatistics.snapshot();
+        var output = new StringBuilder(ioService.getMessage(MessageCode.SHELL_STATS_SUMMARY, snapshot.sessions(),
+                snapshot.passedSessions(), percent(snapshot.passRate()), snapshot.bestScore()));
+        if (snapshot.questions().isEmpty()) {
+            output.append(System.lineSeparator()).append(ioService.getMessage(MessageCode.SHELL_STATS_EMPTY));
+        }
+        for (QuestionSnapshot question : snapshot.questions()) {
+            output.append(System.lineSeparator()).append(ioService.getMessage(MessageCode.SHELL_STATS_QUESTION,
+                    question.position() + 1, question.text(), question.attempts(), percent(question.rightRate()),
+                    histogram(question.choices())));
+        }
+        return output.toString();
+    }
+
+    private static String percent(double rate) {
+        return String.format(Locale.ROOT, "%.1f%%", rate * 100);
+    }
+
+    private static String histogram(long[] choices) {
+        var histogram = new StringBuilder();
+        for (int i = 0; i < choices.length; i++) {
+            if (i > 0) {
+                histogram.append(' ');
+            }
+            histogram.append(i + 1).append(':').append(choices[i]);
+        }
+        return histogram.toString();
+    }
+}
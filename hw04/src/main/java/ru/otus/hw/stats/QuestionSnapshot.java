@@ -0,0 +1,8 @@
+package ru.otus.hw.stats;
+
+public record QuestionSnapshot(int position, String text, long attempts, long rightAnswers, long[] choices) {
+
+    public double rightRate() {
+        return attempts == 0 ? 0 : (double) rightAnswers / attempts;
+    }
+}
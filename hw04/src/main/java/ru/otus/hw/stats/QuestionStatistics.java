@@ -0,0 +1,183 @@
+package ru.otus.hw.stats;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ru.otus.hw.config.TestConfig;
+import ru.otus.hw.dao.BankVersion;
+import ru.otus.hw.domain.Question;
+import ru.otus.hw.domain.TestResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live answer statistics, updated by every session without locks.
+ * <p>
+ * Each pair of dependent counters is incremented total-first and read total-last,
+ * so a snapshot never shows more right answers than attempts or more passed sessions than sessions.
+ * <p>
+ * Questions are counted by their position in the bank, each bank file has its own rows that grow by doubling.
+ * A reloaded bank gets new rows, which take over the counters of the questions that kept their position.
+ * Answers given to the previous version while it is replaced are still counted, older versions are ignored.
+ */
+@Component
+@RequiredArgsConstructor
+public class QuestionStatistics {
+
+    private final TestConfig testConfig;
+
+    private final Map<String, BankRows> banks = new ConcurrentHashMap<>();
+
+    private final LongAdder sessions = new LongAdder();
+
+    private final LongAdder passedSessions = new LongAdder();
+
+    private final LongAccumulator bestScore = new LongAccumulator(Math::max, 0);
+
+    public void recordAnswer(BankVersion bankVersion, int bankIndex, Question question, int answerIndex) {
+        var bank = rowsOf(bankVersion);
+        if (bank == null) {
+            return;
+        }
+        var questionCounters = bank.get(bankIndex);
+        if (questionCounters == null) {
+            questionCounters = bank.createRow(bankIndex, question);
+        }
+        questionCounters.choices[answerIndex].increment();
+        if (question.answers().get(answerIndex).isCorrect()) {
+            questionCounters.rightAnswers.increment();
+        }
+    }
+
+    public void recordResult(TestResult result) {
+        int rightAnswers = result.getRightAnswersCount();
+        sessions.increment();
+        if (rightAnswers >= testConfig.getRightAnswersCountToPass()) {
+            passedSessions.increment();
+        }
+        bestScore.accumulate(rightAnswers);
+    }
+
+    public StatisticsSnapshot snapshot() {
+        long passed = passedSessions.sum();
+        long best = bestScore.get();
+        long total = sessions.sum();
+        List<QuestionSnapshot> questions = new ArrayList<>();
+        for (var bank : new TreeMap<>(banks).values()) {
+            var rows = bank.rows;
+            for (int i = 0; i < rows.length(); i++) {
+                var questionCounters = rows.get(i);
+                if (questionCounters != null) {
+                    questions.add(questionCounters.snapshot());
+                }
+            }
+        }
+        return new StatisticsSnapshot(total, passed, best, List.copyOf(questions));
+    }
+
+    private BankRows rowsOf(BankVersion version) {
+        var bank = banks.get(version.fileName());
+        if (bank == null || !bank.version.equals(version)) {
+            bank = banks.compute(version.fileName(), (fileName, current) -> {
+                if (current == null) {
+                    return new BankRows(version, null);
+                }
+                if (current.version.equals(version) || current.version.generation() > version.generation()) {
+                    return current;
+                }
+                current.previous = null;
+                return new BankRows(version, current);
+            });
+        }
+        if (bank.version.equals(version)) {
+            return bank;
+        }
+        var previous = bank.previous;
+        return previous != null && previous.version.equals(version) ? previous : null;
+    }
+
+    private static final class BankRows {
+
+        private final BankVersion version;
+
+        private volatile BankRows previous;
+
+        private volatile AtomicReferenceArray<QuestionCounters> rows = new AtomicReferenceArray<>(0);
+
+        private BankRows(BankVersion version, BankRows previous) {
+            this.version = version;
+            this.previous = previous;
+        }
+
+        private QuestionCounters get(int bankIndex) {
+            var current = rows;
+            return bankIndex < current.length() ? current.get(bankIndex) : null;
+        }
+
+        /**
+         * Rows are only created and copied under the lock of their bank, so a row installed concurrently
+         * with growing the array cannot be lost, increments go to the row object itself and need no lock.
+         */
+        private synchronized QuestionCounters createRow(int bankIndex, Question question) {
+            var current = rows;
+            if (bankIndex >= current.length()) {
+                var grown = new AtomicReferenceArray<QuestionCounters>(Math.max(bankIndex + 1, current.length() * 2));
+                for (int i = 0; i < current.length(); i++) {
+                    grown.set(i, current.get(i));
+                }
+                rows = grown;
+                current = grown;
+            }
+            var questionCounters = current.get(bankIndex);
+            if (questionCounters == null) {
+                var replaced = previous;
+                var carried = replaced == null ? null : replaced.get(bankIndex);
+                questionCounters = carried != null && carried.isFor(question) ? carried
+                        : new QuestionCounters(bankIndex, question);
+                current.set(bankIndex, questionCounters);
+            }
+            return questionCounters;
+        }
+    }
+
+    private static final class QuestionCounters {
+
+        private final int position;
+
+        private final Question question;
+
+        private final LongAdder rightAnswers = new LongAdder();
+
+        private final LongAdder[] choices;
+
+        private QuestionCounters(int position, Question question) {
+            this.position = position;
+            this.question = question;
+            this.choices = new LongAdder[question.answers().size()];
+            for (int i = 0; i < choices.length; i++) {
+                choices[i] = new LongAdder();
+            }
+        }
+
+        private boolean isFor(Question other) {
+            return question == other || question.equals(other);
+        }
+
+        private QuestionSnapshot snapshot() {
+            long right = rightAnswers.sum();
+            long[] choiceCounts = new long[choices.length];
+            long attempts = 0;
+            for (int i = 0; i < choices.length; i++) {
+                choiceCounts[i] = choices[i].sum();
+                attempts += choiceCounts[i];
+            }
+            return new QuestionSnapshot(position, question.text(), attempts, right, choiceCounts);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package ru.otus.hw.stats;
+
+import java.util.List;
+
+public record StatisticsSnapshot(long sessions, long passedSessions, long bestScore, List<QuestionSnapshot> questions) {
+
+    public double passRate() {
+        return sessions == 0 ? 0 : (double) passedSessions / sessions;
+    }
+}
@@ -1,21 +1,37 @@
 package ru.otus.hw.dao;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import ru.otus.hw.config.MetricsConfiguration;
+import ru.otus.hw.config.QuestionBankConfig;
 import ru.otus.hw.config.TestFileNameProvider;
+import ru.otus.hw.dao.binary.BinaryQuestionBank;
+import ru.otus.hw.dao.parser.OpenCsvQuestionParser;
 import ru.otus.hw.domain.Answer;
 import ru.otus.hw.domain.Question;
 import ru.otus.hw.exceptions.QuestionReadException;
+import ru.otus.hw.metrics.QuizMetrics;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.when;
 
-@SpringBootTest(classes = CsvQuestionDao.class)
+@SpringBootTest(classes = {CsvQuestionDao.class, QuestionBankCache.class, OpenCsvQuestionParser.class,
+        QuestionInterner.class, QuizMetrics.class, MetricsConfiguration.class})
 class CsvQuestionDaoTest {
 
     private static final String EXISTING_CSV = "questionsTest.csv";
@@ -24,9 +40,18 @@ class CsvQuestionDaoTest {
     @MockitoBean
     private TestFileNameProvider fileNameProvider;
 
+    @MockitoBean
+    private QuestionBankConfig questionBankConfig;
+
     @Autowired
     private CsvQuestionDao dao;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @TempDir
+    private Path tempDir;
+
     @Test
     @DisplayName("Should load questions and answers from CSV resource when file exists")
     void shouldLoadQuestionsFromCsvResource() {
@@ -52,6 +77,46 @@ class CsvQuestionDaoTest {
         assertTrue(answers.get(2).isCorrect());
     }
 
+    @Test
+    @DisplayName("Should parse the CSV resource once and share the same snapshot")
+    void shouldReuseCachedSnapshot() {
+        when(fileNameProvider.getTestFileName()).thenReturn(EXISTING_CSV);
+
+        List<Question> first = dao.findAll();
+        List<Question> second = dao.findAll();
+
+        assertSame(first, second, "Repeated calls should return the cached snapshot");
+        assertThrows(UnsupportedOperationException.class, () -> first.remove(0),
+                "Cached snapshot should be immutable");
+    }
+
+    @Test
+    @DisplayName("Should stream questions from the resource when caching is disabled")
+    void shouldStreamQuestionsWithoutCaching() {
+        when(fileNameProvider.getTestFileName()).thenReturn(EXISTING_CSV);
+        when(questionBankConfig.isCacheQuestions()).thenReturn(false);
+
+        try (Stream<Question> questions = dao.stream()) {
+            assertEquals(dao.findAll(), questions.toList());
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep the record index of an uncached bank under bankCacheDir")
+    void shouldWriteRecordIndexToBankCacheDir() throws IOException {
+        Path csv = Files.createDirectories(tempDir.resolve("source")).resolve("indexed.csv");
+        Files.writeString(csv, "# header\nMars?;Yes%false|No%true\nЛуна?;Да%true\n");
+        Path cacheDir = tempDir.resolve("cache");
+        when(fileNameProvider.getTestFileName()).thenReturn(csv.toString());
+        when(questionBankConfig.getBankCacheDir()).thenReturn(cacheDir.toString());
+
+        assertEquals(2, dao.count());
+        assertEquals("Луна?", dao.findByIndex(1).text());
+
+        assertTrue(Files.exists(QuestionResources.cacheFile(cacheDir.toString(), csv.toString(), ".idx")));
+        assertFalse(Files.exists(csv.resolveSibling("indexed.csv.idx")));
+    }
+
     @Test
     @DisplayName("Should throw QuestionReadException when file name is blank")
     void shouldThrowWhenFileNameEmpty() {
@@ -80,4 +145,70 @@ class CsvQuestionDaoTest {
                 "Exception message should mention missing resource"
         );
     }
+
+    @Test
+    @DisplayName("Should record load time and question count of a loaded bank")
+    void shouldRecordBankLoadMetrics() {
+        when(questionBankConfig.isCacheQuestions()).thenReturn(true);
+
+        int loaded = dao.findAll("questions.csv").size();
+
+        var loadTimer = meterRegistry.get("quiz.questions.load").tag("file", "questions.csv").timer();
+        var questionCount = meterRegistry.get("quiz.questions.loaded").tag("file", "questions.csv").summary();
+        assertEquals(1, loadTimer.count());
+        assertTrue(loadTimer.totalTime(TimeUnit.NANOSECONDS) > 0);
+        assertEquals(loaded, questionCount.totalAmount());
+    }
+
+    @Test
+    @DisplayName("Should keep the loaded bank off heap when offHeapQuestions is set")
+    void shouldLoadBankOffHeap() throws IOException {
+        List<Question> onHeap = dao.findAll(EXISTING_CSV);
+        Path copy = tempDir.resolve("offHeap.csv");
+        try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream(EXISTING_CSV)) {
+            Files.copy(inputStream, copy);
+        }
+        when(questionBankConfig.isOffHeapQuestions()).thenReturn(true);
+
+        List<Question> offHeap = dao.findAll(copy.toString());
+
+        assertInstanceOf(BinaryQuestionBank.class, offHeap);
+        assertEquals(onHeap, offHeap);
+    }
+
+    @Test
+    @DisplayName("Should stream a gzip-compressed bank into the parser")
+    void shouldReadGzipCompressedBank() throws IOException {
+        when(fileNameProvider.getTestFileName()).thenReturn(EXISTING_CSV);
+        List<Question> plain = dao.findAll();
+        String compressed = gzip(EXISTING_CSV).toString();
+        when(fileNameProvider.getTestFileName()).thenReturn(compressed);
+
+        assertEquals(plain, dao.findAll(compressed));
+        try (Stream<Question> questions = dao.stream()) {
+            assertEquals(plain, questions.toList());
+        }
+        assertEquals(plain.size(), dao.count());
+        assertEquals(plain.subList(0, 1), dao.findRange(0, 1));
+        assertFalse(dao.isIndexed(), "A compressed bank has no byte offsets to index");
+    }
+
+    @Test
+    @DisplayName("Should throw QuestionReadException when a .gz bank is not gzip data")
+    void shouldThrowWhenGzipBankIsCorrupted() throws IOException {
+        Path corrupted = Files.writeString(tempDir.resolve("corrupted.csv.gz"), "# not gzip");
+
+        QuestionReadException ex = assertThrows(QuestionReadException.class,
+                () -> dao.findAll(corrupted.toString()));
+        assertTrue(ex.getMessage().contains("compressed"));
+    }
+
+    private Path gzip(String resource) throws IOException {
+        Path target = tempDir.resolve(resource + ".gz");
+        try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream(resource);
+             OutputStream outputStream = new GZIPOutputStream(Files.newOutputStream(target))) {
+            inputStream.transferTo(outputStream);
+        }
+        return target;
+    }
 }
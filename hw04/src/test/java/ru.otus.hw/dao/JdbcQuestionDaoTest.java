@@ -0,0 +1,122 @@
+package ru.otus.hw.dao;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import ru.otus.hw.config.QuestionBankConfig;
+import ru.otus.hw.config.TestFileNameProvider;
+import ru.otus.hw.dao.jdbc.QuestionBankImporter;
+import ru.otus.hw.dao.parser.OpenCsvQuestionParser;
+import ru.otus.hw.dao.parser.PlainQuestionParser;
+import ru.otus.hw.domain.Question;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@JdbcTest
+@Import({JdbcQuestionDao.class, QuestionBankImporter.class, OpenCsvQuestionParser.class})
+@ActiveProfiles("jdbc")
+class JdbcQuestionDaoTest {
+
+    private static final int PAGE_SIZE = 4;
+
+    private static final int BANK_SIZE = 10;
+
+    @MockitoBean
+    private TestFileNameProvider fileNameProvider;
+
+    @MockitoBean
+    private QuestionBankConfig questionBankConfig;
+
+    @Autowired
+    private JdbcQuestionDao dao;
+
+    @Autowired
+    private QuestionBankImporter importer;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbc;
+
+    @TempDir
+    private Path tempDir;
+
+    private String bank;
+
+    private List<Question> expected;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        String csv = IntStream.range(0, BANK_SIZE)
+                .mapToObj(i -> "Вопрос %d?;Да%%%b|Нет%%%b|Не знаю%%false".formatted(i, i % 2 == 0, i % 2 == 1))
+                .collect(Collectors.joining("\n", "# header\n", "\n"));
+        bank = Files.writeString(tempDir.resolve("questions.csv"), csv).toString();
+        try (InputStream inputStream = Files.newInputStream(Path.of(bank))) {
+            expected = new PlainQuestionParser().parse(inputStream).toList();
+        }
+        when(fileNameProvider.getTestFileName()).thenReturn(bank);
+        when(questionBankConfig.getJdbcPageSize()).thenReturn(PAGE_SIZE);
+    }
+
+    @Test
+    @DisplayName("Should import the CSV bank on first access and read it back page by page")
+    void shouldImportAndReadBankInPages() {
+        assertEquals(expected, dao.findAll());
+        try (Stream<Question> questions = dao.stream()) {
+            assertEquals(expected, questions.toList());
+        }
+        assertEquals(BANK_SIZE, dao.count());
+    }
+
+    @Test
+    @DisplayName("Should import a bank only once")
+    void shouldImportBankOnce() {
+        long bankId = importer.importBank(bank);
+
+        assertEquals(bankId, importer.importBank(bank));
+        dao.findAll();
+        assertEquals(1, count("SELECT COUNT(*) FROM question_banks"));
+        assertEquals(BANK_SIZE, count("SELECT COUNT(*) FROM questions"));
+        assertEquals(BANK_SIZE * 3, count("SELECT COUNT(*) FROM answers"));
+    }
+
+    @Test
+    @DisplayName("Should read ranges across page boundaries by position")
+    void shouldFindRangesByPosition() {
+        assertEquals(expected.subList(3, 9), dao.findRange(3, 9));
+        assertEquals(expected.get(7), dao.findByIndex(7));
+        assertEquals(List.of(), dao.findRange(BANK_SIZE, BANK_SIZE));
+        assertTrue(dao.isIndexed());
+    }
+
+    @Test
+    @DisplayName("Should throw IndexOutOfBoundsException for ranges outside the bank")
+    void shouldThrowForRangeOutOfBank() {
+        assertThrows(IndexOutOfBoundsException.class, () -> dao.findRange(8, BANK_SIZE + 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> dao.findByIndex(BANK_SIZE));
+        assertThrows(IndexOutOfBoundsException.class, () -> dao.findRange(-1, 2));
+    }
+
+    private int count(String sql) {
+        Integer count = jdbc.queryForObject(sql, Map.of(), Integer.class);
+        return count == null ? 0 : count;
+    }
+}
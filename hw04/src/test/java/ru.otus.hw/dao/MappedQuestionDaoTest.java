@@ -0,0 +1,65 @@
+package ru.otus.hw.dao;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.otus.hw.config.AppProperties;
+import ru.otus.hw.dao.binary.BinaryQuestionBankCompiler;
+import ru.otus.hw.dao.parser.PlainQuestionParser;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MappedQuestionDaoTest {
+
+    @TempDir
+    private Path tempDir;
+
+    private Path csv;
+
+    private Path cacheDir;
+
+    private MappedQuestionDao dao;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        csv = tempDir.resolve("bank.csv");
+        write("# header\nMars?;Yes%false|No%true\n", 1_000_000L);
+        cacheDir = tempDir.resolve("cache");
+        var properties = new AppProperties();
+        properties.setBankCacheDir(cacheDir.toString());
+        dao = new MappedQuestionDao(properties, new BinaryQuestionBankCompiler(properties, new PlainQuestionParser()));
+    }
+
+    @Test
+    @DisplayName("Should keep the mapped bank while the source is unchanged")
+    void shouldReuseMappedBankForUnchangedSource() {
+        assertSame(dao.findAll(csv.toString()), dao.findAll(csv.toString()));
+    }
+
+    @Test
+    @DisplayName("Should recompile and remap the bank after the source is edited")
+    void shouldRemapEditedSource() throws IOException {
+        assertEquals(1, dao.findAll(csv.toString()).size());
+        assertTrue(Files.exists(QuestionResources.cacheFile(cacheDir.toString(), csv.toString(), ".qbank")));
+
+        write("# header\nMars?;Yes%false|No%true\nЛуна?;Да%true\n", 2_000_000L);
+
+        var questions = dao.findAll(csv.toString());
+        assertEquals(2, questions.size());
+        assertEquals("Луна?", questions.get(1).text());
+    }
+
+    private void write(String content, long lastModifiedMillis) throws IOException {
+        Files.writeString(csv, content, StandardCharsets.UTF_8);
+        Files.setLastModifiedTime(csv, FileTime.fromMillis(lastModifiedMillis));
+    }
+}
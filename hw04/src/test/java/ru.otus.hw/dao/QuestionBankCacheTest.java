@@ -0,0 +1,113 @@
+package ru.otus.hw.dao;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.otus.hw.domain.Question;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class QuestionBankCacheTest {
+
+    private static final Duration QUIET_PERIOD = Duration.ofMillis(300);
+
+    private static final long RELOAD_TIMEOUT_MILLIS = 10_000;
+
+    @TempDir
+    private Path dir;
+
+    private final QuestionBankCache cache = new QuestionBankCache(QUIET_PERIOD);
+
+    private final List<List<Question>> loads = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void tearDown() throws IOException {
+        cache.destroy();
+    }
+
+    @Test
+    @DisplayName("Should reload an edited bank once it stops changing and never parse it half written")
+    void shouldReloadEditedBankAfterWritesSettle() throws Exception {
+        Path bank = Files.writeString(dir.resolve("questions.csv"), "first\n");
+        String fileName = bank.toString();
+        var initial = cache.get(fileName, this::load);
+
+        Files.writeString(bank, "second\n", StandardOpenOption.TRUNCATE_EXISTING);
+        Thread.sleep(QUIET_PERIOD.toMillis() / 3);
+        Files.writeString(bank, "third\n", StandardOpenOption.APPEND);
+
+        var reloaded = awaitChange(fileName, initial);
+        assertEquals(List.of("second", "third"), reloaded.stream().map(Question::text).toList());
+        assertEquals(2, loads.size(), "The bank should be parsed once at start and once after the edit");
+        assertSame(reloaded, cache.get(fileName, this::load));
+    }
+
+    @Test
+    @DisplayName("Should keep the previous snapshot when the edited bank cannot be parsed")
+    void shouldKeepSnapshotWhenReloadFails() throws Exception {
+        Path bank = Files.writeString(dir.resolve("questions.csv"), "first\n");
+        String fileName = bank.toString();
+        var initial = cache.get(fileName, this::load);
+
+        Files.writeString(bank, "broken\n", StandardOpenOption.TRUNCATE_EXISTING);
+        long deadline = System.currentTimeMillis() + RELOAD_TIMEOUT_MILLIS;
+        while (loads.size() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+
+        assertEquals(2, loads.size());
+        assertSame(initial, cache.get(fileName, this::load));
+        assertEquals(0, cache.getGeneration(fileName));
+    }
+
+    @Test
+    @DisplayName("Should start a new generation of the bank when its snapshot is evicted")
+    void shouldCountEvictedSnapshotAsNewGeneration() throws Exception {
+        String fileName = Files.writeString(dir.resolve("questions.csv"), "first\n").toString();
+        var initial = cache.get(fileName, this::load);
+        assertEquals(0, cache.getGeneration(fileName));
+
+        cache.evict(fileName);
+
+        assertEquals(1, cache.getGeneration(fileName));
+        assertNotSame(initial, cache.get(fileName, this::load));
+        assertEquals(1, cache.getGeneration(fileName));
+    }
+
+    private List<Question> load(String fileName) {
+        try {
+            var questions = Files.readAllLines(Path.of(fileName)).stream()
+                    .map(line -> new Question(line, List.of()))
+                    .toList();
+            loads.add(questions);
+            if (questions.stream().anyMatch(question -> "broken".equals(question.text()))) {
+                throw new IllegalStateException("Broken bank " + fileName);
+            }
+            return questions;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private List<Question> awaitChange(String fileName, List<Question> previous) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + RELOAD_TIMEOUT_MILLIS;
+        var current = cache.get(fileName, this::load);
+        while (current == previous && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            current = cache.get(fileName, this::load);
+        }
+        return current;
+    }
+}
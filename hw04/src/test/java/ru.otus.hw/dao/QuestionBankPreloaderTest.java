@@ -0,0 +1,79 @@
+package ru.otus.hw.dao;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.otus.hw.config.TestFileNameProvider;
+import ru.otus.hw.exceptions.QuestionReadException;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class QuestionBankPreloaderTest {
+
+    @Mock
+    private TestFileNameProvider fileNameProvider;
+
+    @Mock
+    private QuestionDao questionDao;
+
+    @InjectMocks
+    private QuestionBankPreloader preloader;
+
+    @Test
+    @DisplayName("Should load every distinct bank of the locale mapping once")
+    void shouldPreloadEveryBankOnce() {
+        when(questionDao.isCaching()).thenReturn(true);
+        when(fileNameProvider.getTestFileNameByLocale()).thenReturn(Map.of(
+                Locale.ROOT, "questions.csv",
+                Locale.US, "questions.csv",
+                Locale.forLanguageTag("ru-RU"), "questions_ru.csv"));
+        when(questionDao.findAll("questions.csv")).thenReturn(List.of());
+        when(questionDao.findAll("questions_ru.csv")).thenReturn(List.of());
+
+        preloader.afterSingletonsInstantiated();
+
+        verify(questionDao, times(1)).findAll("questions.csv");
+        verify(questionDao, times(1)).findAll("questions_ru.csv");
+    }
+
+    @Test
+    @DisplayName("Should fail fast with QuestionReadException when a bank is broken")
+    void shouldFailFastOnBrokenBank() {
+        when(questionDao.isCaching()).thenReturn(true);
+        when(fileNameProvider.getTestFileNameByLocale()).thenReturn(Map.of(
+                Locale.ROOT, "questions.csv",
+                Locale.US, "broken.csv"));
+        lenient().when(questionDao.findAll("questions.csv")).thenReturn(List.of());
+        when(questionDao.findAll("broken.csv")).thenThrow(new QuestionReadException("Resource not found: broken.csv"));
+
+        var ex = assertThrows(QuestionReadException.class, preloader::afterSingletonsInstantiated);
+        assertEquals("Resource not found: broken.csv", ex.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should not load any bank when the DAO does not keep loaded banks")
+    void shouldSkipPreloadWithoutCaching() {
+        when(questionDao.isCaching()).thenReturn(false);
+
+        preloader.afterSingletonsInstantiated();
+
+        verifyNoInteractions(fileNameProvider);
+        verify(questionDao, never()).findAll(anyString());
+    }
+}
@@ -0,0 +1,100 @@
+package ru.otus.hw.dao;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.otus.hw.domain.Answer;
+import ru.otus.hw.domain.Question;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuestionInternerTest {
+
+    private static final int QUESTIONS_COUNT = 50_000;
+
+    private static final int DISTINCT_ANSWERS = 50;
+
+    @Test
+    @DisplayName("Should share one instance of identical answers and answer lists")
+    void shouldShareIdenticalAnswers() {
+        var interner = new QuestionInterner();
+        var first = interner.intern(new Question("Mars?", List.of(
+                new Answer(new String("Nobody knows for sure"), true), new Answer("No", false))));
+        var second = interner.intern(new Question("Moon?", List.of(
+                new Answer(new String("Nobody knows for sure"), true), new Answer("No", false))));
+
+        assertSame(first.answers(), second.answers());
+        assertSame(first.answers().get(0).text(), second.answers().get(0).text());
+        assertEquals("Moon?", second.text());
+    }
+
+    @Test
+    @DisplayName("Should report the same saving for every further copy of an interned bank")
+    void shouldReportLinearSavingForDuplicates() {
+        var interner = new QuestionInterner();
+        List<List<Question>> loadedBanks = new ArrayList<>();
+
+        loadedBanks.add(intern(interner, generateBank()));
+        long afterFirst = interner.getSavedBytes();
+        loadedBanks.add(intern(interner, generateBank()));
+        long afterSecond = interner.getSavedBytes();
+        loadedBanks.add(intern(interner, generateBank()));
+        long afterThird = interner.getSavedBytes();
+
+        assertEquals(3, loadedBanks.size());
+        assertTrue(afterSecond > afterFirst);
+        assertEquals(afterSecond - afterFirst, afterThird - afterSecond);
+    }
+
+    @Test
+    @DisplayName("Should charge intern table entries against the saving when nothing is shared")
+    void shouldReportNegativeSavingForUniqueTexts() {
+        var interner = new QuestionInterner();
+
+        interner.intern(new Question("Mars?", List.of(new Answer("Yes", false), new Answer("No", true))));
+
+        assertTrue(interner.getSavedBytes() < 0);
+    }
+
+    @Test
+    @DisplayName("Should let canonical instances be collected once no question references them")
+    void shouldReleaseUnreferencedInstances() throws InterruptedException {
+        var interner = new QuestionInterner();
+        var text = new WeakReference<>(interner.intern(new Question("Mars?",
+                List.of(new Answer(new String("Nobody knows for sure"), true)))).answers().get(0).text());
+
+        for (int i = 0; i < 100 && text.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        assertNull(text.get());
+        var kept = interner.intern(new Question("Moon?", List.of(new Answer(new String("Yes"), true))));
+        var shared = interner.intern(new Question("Sun?", List.of(new Answer(new String("Yes"), true))));
+        assertSame(kept.answers(), shared.answers());
+    }
+
+    private static List<Question> intern(QuestionInterner interner, List<Question> bank) {
+        return bank.stream().map(interner::intern).toList();
+    }
+
+    private List<Question> generateBank() {
+        var random = new Random(QUESTIONS_COUNT);
+        List<Question> questions = new ArrayList<>(QUESTIONS_COUNT);
+        for (int i = 0; i < QUESTIONS_COUNT; i++) {
+            List<Answer> answers = new ArrayList<>();
+            for (int j = 0; j < 3; j++) {
+                answers.add(new Answer("Answer text number " + random.nextInt(DISTINCT_ANSWERS), j == 0));
+            }
+            questions.add(new Question("Question " + i, answers));
+        }
+        return questions;
+    }
+}
@@ -0,0 +1,57 @@
+package ru.otus.hw.dao;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.otus.hw.exceptions.QuestionReadException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuestionResourcesTest {
+
+    private static final String CSV = "# header\nMars?;Yes%false|No%true\n";
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    @DisplayName("Should prefer a classpath resource over the file system")
+    void shouldResolveClasspathResource() throws IOException {
+        var resolved = QuestionResources.resolveFile("questionsTest.csv");
+
+        assertTrue(resolved.isPresent());
+        assertTrue(resolved.get().isAbsolute());
+        try (InputStream inputStream = QuestionResources.open("questionsTest.csv")) {
+            assertEquals(Files.size(resolved.get()), inputStream.readAllBytes().length);
+        }
+    }
+
+    @Test
+    @DisplayName("Should fall back to a file system path when there is no such classpath resource")
+    void shouldFallBackToFileSystemPath() throws IOException {
+        Path csv = Files.writeString(tempDir.resolve("bank.csv"), CSV);
+
+        assertEquals(Optional.of(csv.toAbsolutePath()), QuestionResources.resolveFile(csv.toString()));
+        try (InputStream inputStream = QuestionResources.open(csv.toString())) {
+            assertEquals(CSV, new String(inputStream.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    @DisplayName("Should throw QuestionReadException when neither a resource nor a file exists")
+    void shouldThrowWhenNothingFound() {
+        String missing = tempDir.resolve("missing.csv").toString();
+
+        assertTrue(QuestionResources.resolveFile(missing).isEmpty());
+        assertThrows(QuestionReadException.class, () -> QuestionResources.open(missing));
+    }
+}
@@ -0,0 +1,69 @@
+package ru.otus.hw.dao.binary;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.otus.hw.config.AppProperties;
+import ru.otus.hw.dao.QuestionResources;
+import ru.otus.hw.dao.parser.PlainQuestionParser;
+import ru.otus.hw.domain.Question;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class BinaryQuestionBankCompilerTest {
+
+    private static final String EXISTING_CSV = "questionsTest.csv";
+
+    @TempDir
+    private Path cacheDir;
+
+    private BinaryQuestionBankCompiler compiler;
+
+    @BeforeEach
+    void setUp() {
+        var properties = new AppProperties();
+        properties.setBankCacheDir(cacheDir.toString());
+        compiler = new BinaryQuestionBankCompiler(properties, new PlainQuestionParser());
+    }
+
+    @Test
+    @DisplayName("Should decode the same questions as parsed from the CSV source")
+    void shouldDecodeSameQuestionsAsCsv() throws IOException {
+        var compiled = compiler.compile(EXISTING_CSV);
+
+        var bank = new BinaryQuestionBank(ByteBuffer.wrap(Files.readAllBytes(compiled)));
+
+        assertEquals(parseCsv(), bank);
+    }
+
+    @Test
+    @DisplayName("Should recompile when the compiled file does not match the source hash")
+    void shouldRecompileWhenSourceHashDiffers() throws IOException {
+        var compiled = compiler.compile(EXISTING_CSV);
+        byte[] content = Files.readAllBytes(compiled);
+        content[BinaryQuestionBankFormat.HASH_POSITION] ^= 1;
+        Files.write(compiled, content);
+        Files.setLastModifiedTime(compiled, FileTime.fromMillis(0));
+
+        compiler.compile(EXISTING_CSV);
+
+        assertNotEquals(0, Files.getLastModifiedTime(compiled).toMillis());
+        assertEquals(parseCsv(), new BinaryQuestionBank(ByteBuffer.wrap(Files.readAllBytes(compiled))));
+    }
+
+    private List<Question> parseCsv() throws IOException {
+        try (InputStream inputStream = QuestionResources.open(EXISTING_CSV)) {
+            return new PlainQuestionParser().parse(inputStream).toList();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package ru.otus.hw.dao.binary;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.otus.hw.domain.Answer;
+import ru.otus.hw.domain.Question;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DirectQuestionBankWriterTest {
+
+    @Test
+    @DisplayName("Should decode the appended questions from the direct buffer")
+    void shouldDecodeAppendedQuestions() {
+        List<Question> questions = List.of(
+                new Question("Есть ли жизнь на Марсе?", List.of(new Answer("Наука пока не знает", true),
+                        new Answer("Нет", false))),
+                new Question("Is Pluto a planet?", List.of()),
+                new Question("", List.of(new Answer("", false))));
+
+        assertEquals(questions, write(questions));
+    }
+
+    @Test
+    @DisplayName("Should grow the buffer past its initial capacity without losing questions")
+    void shouldGrowBuffer() {
+        List<Question> questions = IntStream.range(0, 20_000)
+                .mapToObj(i -> new Question("Вопрос номер " + i + "?",
+                        List.of(new Answer("Ответ " + i, i % 2 == 0), new Answer("Answer " + i, i % 2 == 1))))
+                .toList();
+
+        var bank = write(questions);
+
+        assertEquals(questions.size(), bank.size());
+        assertEquals(questions, bank);
+    }
+
+    @Test
+    @DisplayName("Should be an unmodifiable view over the buffer")
+    void shouldBeUnmodifiableView() {
+        var bank = write(List.of(new Question("Is Pluto a planet?", List.of(new Answer("Dwarf", true)))));
+
+        assertTrue(bank instanceof BinaryQuestionBank);
+        assertThrows(UnsupportedOperationException.class, () -> bank.remove(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> bank.get(1));
+    }
+
+    private static List<Question> write(List<Question> questions) {
+        var writer = new DirectQuestionBankWriter();
+        questions.forEach(writer::append);
+        return writer.finish();
+    }
+}
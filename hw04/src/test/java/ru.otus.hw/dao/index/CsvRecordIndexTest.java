@@ -0,0 +1,116 @@
+package ru.otus.hw.dao.index;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.otus.hw.dao.parser.PlainQuestionParser;
+import ru.otus.hw.domain.Question;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CsvRecordIndexTest {
+
+    private static final String CSV = """
+            # header;answer%true
+            Луна?;Да%true|Нет%false\r
+
+            Mars?;Yes%false|No%true
+            Venus?;Hot%true
+            """;
+
+    @TempDir
+    private Path dir;
+
+    @Test
+    @DisplayName("Should read every record by index the same way as the sequential parser")
+    void shouldReadRecordsByIndex() throws IOException {
+        var csv = write(CSV);
+
+        try (var index = CsvRecordIndex.open(csv, dir.resolve("questions.csv.idx"))) {
+            var expected = parse(CSV);
+            assertEquals(expected.size(), index.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i), index.get(i));
+            }
+            assertEquals(expected.subList(1, 3), index.range(1, 3));
+            assertThrows(IndexOutOfBoundsException.class, () -> index.get(expected.size()));
+        }
+    }
+
+    @Test
+    @DisplayName("Should rebuild the index after the CSV file changes")
+    void shouldRebuildStaleIndex() throws IOException {
+        var csv = write(CSV);
+        var indexFile = dir.resolve("questions.csv.idx");
+        CsvRecordIndex.open(csv, indexFile).close();
+
+        String changed = CSV + "Jupiter?;Big%true\n";
+        Files.writeString(csv, changed);
+        Files.setLastModifiedTime(csv, FileTime.fromMillis(Files.getLastModifiedTime(csv).toMillis() + 1000));
+
+        try (var index = CsvRecordIndex.open(csv, indexFile)) {
+            assertFalse(index.isStale());
+            assertEquals(parse(changed), index.range(0, index.size()));
+        }
+    }
+
+    @Test
+    @DisplayName("Should report the index as stale once the CSV file is modified")
+    void shouldDetectModifiedCsv() throws IOException {
+        var csv = write(CSV);
+
+        try (var index = CsvRecordIndex.open(csv, dir.resolve("questions.csv.idx"))) {
+            Files.writeString(csv, CSV + "Pluto?;Planet%false\n");
+
+            assertTrue(index.isStale());
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep serving acquired readers after close and refuse new ones once they release")
+    void shouldRetireIndexAfterLastReader() throws IOException {
+        var csv = write(CSV);
+        var index = CsvRecordIndex.open(csv, dir.resolve("questions.csv.idx"));
+        assertTrue(index.acquire());
+
+        index.close();
+
+        assertEquals(parse(CSV).get(0), index.get(0));
+        index.release();
+        assertFalse(index.acquire());
+    }
+
+    @Test
+    @DisplayName("Should not re-read the CSV attributes within the check interval")
+    void shouldThrottleStalenessCheck() throws IOException {
+        var csv = write(CSV);
+
+        try (var index = CsvRecordIndex.open(csv, dir.resolve("questions.csv.idx"))) {
+            Files.writeString(csv, CSV + "Pluto?;Planet%false\n");
+
+            assertFalse(index.isStale(Duration.ofHours(1)));
+            assertTrue(index.isStale(Duration.ZERO));
+        }
+    }
+
+    private Path write(String content) throws IOException {
+        return Files.writeString(dir.resolve("questions.csv"), content);
+    }
+
+    private List<Question> parse(String content) {
+        var bytes = content.getBytes(StandardCharsets.UTF_8);
+        return new PlainQuestionParser().parse(new ByteArrayInputStream(bytes)).toList();
+    }
+}
@@ -0,0 +1,119 @@
+package ru.otus.hw.dao.parser;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import ru.otus.hw.domain.Question;
+import ru.otus.hw.exceptions.QuestionReadException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ChunkedQuestionLoaderTest {
+
+    private static final String[] WORDS = {"Луна", "Марс", "planet", "звезда", "🚀", "moon", "Юпитер", "orbit"};
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @TempDir
+    private Path dir;
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {1, 2, 3, 7, 64, 1000, 1 << 20})
+    @DisplayName("Should load the same questions in the same order as the sequential parser for any chunk size")
+    void shouldMatchSequentialParser(long chunkSize) throws IOException {
+        var csv = Files.writeString(dir.resolve("bank.csv"), bank(500, 1, true), StandardCharsets.UTF_8);
+
+        var questions = ChunkedQuestionLoader.load(csv, pool, chunkSize);
+
+        assertEquals(500, questions.size());
+        assertEquals(sequential(csv), questions);
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {1, 5, 13, 100})
+    @DisplayName("Should skip the header, blank lines and CRLF endings and read a last line without a line break")
+    void shouldHandleHeaderBlankLinesAndCrLf(long chunkSize) throws IOException {
+        var csv = Files.writeString(dir.resolve("bank.csv"),
+                "# header;x%true\r\nЛуна?;Да%TRUE|Нет%false\r\n\r\n   \nMars?;Yes%false|No%true",
+                StandardCharsets.UTF_8);
+
+        var questions = ChunkedQuestionLoader.load(csv, pool, chunkSize);
+
+        assertEquals(sequential(csv), questions);
+        assertEquals(List.of("Луна?", "Mars?"), questions.stream().map(Question::text).toList());
+    }
+
+    @Test
+    @DisplayName("Should return no questions for a file with only a header")
+    void shouldLoadHeaderOnlyFile() throws IOException {
+        var csv = Files.writeString(dir.resolve("bank.csv"), "# header", StandardCharsets.UTF_8);
+
+        assertEquals(List.of(), ChunkedQuestionLoader.load(csv, pool, 3));
+        assertEquals(List.of(), ChunkedQuestionLoader.load(csv, pool));
+    }
+
+    @Test
+    @DisplayName("Should load records much longer than a chunk")
+    void shouldLoadRecordsLongerThanChunk() throws IOException {
+        var csv = Files.writeString(dir.resolve("bank.csv"), bank(20, 40_000, false), StandardCharsets.UTF_8);
+
+        assertEquals(sequential(csv), ChunkedQuestionLoader.load(csv, pool, 1000));
+    }
+
+    @Test
+    @DisplayName("Should fail with QuestionReadException on a broken record")
+    void shouldFailOnBrokenRecord() throws IOException {
+        var csv = Files.writeString(dir.resolve("bank.csv"), "# header\nQ1;A%true\nno answers\n",
+                StandardCharsets.UTF_8);
+
+        assertThrows(QuestionReadException.class, () -> ChunkedQuestionLoader.load(csv, pool, 4));
+    }
+
+    private static String bank(int rows, int wordsPerText, boolean trailingLineBreak) {
+        var random = new Random(42);
+        var csv = new StringBuilder("# Question;Answers\n");
+        for (int i = 0; i < rows; i++) {
+            csv.append(i).append(' ').append(text(random, wordsPerText)).append(';');
+            for (int a = 0; a < 3; a++) {
+                csv.append(a > 0 ? "|" : "").append(text(random, 2)).append('%').append(a == i % 3);
+            }
+            if (i % 50 == 0) {
+                csv.append("\n");
+            }
+            if (trailingLineBreak || i < rows - 1) {
+                csv.append(i % 7 == 0 ? "\r\n" : "\n");
+            }
+        }
+        return csv.toString();
+    }
+
+    private static String text(Random random, int words) {
+        var text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            text.append(i > 0 ? " " : "").append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+
+    private static List<Question> sequential(Path csv) throws IOException {
+        return new PlainQuestionParser().parse(new ByteArrayInputStream(Files.readAllBytes(csv))).toList();
+    }
+}
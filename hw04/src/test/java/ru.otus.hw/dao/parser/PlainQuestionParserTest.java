@@ -0,0 +1,78 @@
+package ru.otus.hw.dao.parser;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import ru.otus.hw.domain.Question;
+import ru.otus.hw.exceptions.QuestionReadException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PlainQuestionParserTest {
+
+    private final PlainQuestionParser plainParser = new PlainQuestionParser();
+
+    private final OpenCsvQuestionParser openCsvParser = new OpenCsvQuestionParser();
+
+    @ParameterizedTest
+    @ValueSource(strings = {"questions.csv", "questions_ru.csv", "questionsTest.csv"})
+    @DisplayName("Should produce the same questions as the opencsv parser")
+    void shouldMatchOpenCsvParser(String fileName) throws IOException {
+        assertEquals(parse(openCsvParser, fileName), parse(plainParser, fileName));
+    }
+
+    @Test
+    @DisplayName("Should skip the header, blank lines and handle CRLF line endings")
+    void shouldHandleHeaderBlankLinesAndCrLf() {
+        var csv = "# header;x%true\r\nЛуна?;Да%TRUE|Нет%false\r\n\r\nMars?;Yes%false|No%true";
+
+        var questions = plainParser.parse(stream(csv)).toList();
+
+        assertEquals(2, questions.size());
+        assertEquals("Луна?", questions.get(0).text());
+        assertTrue(questions.get(0).answers().get(0).isCorrect());
+        assertEquals("Нет", questions.get(0).answers().get(1).text());
+        assertFalse(questions.get(1).answers().get(0).isCorrect());
+        assertEquals("No", questions.get(1).answers().get(1).text());
+    }
+
+    @Test
+    @DisplayName("Should throw QuestionReadException for an answer without correctness flag")
+    void shouldThrowForMalformedAnswer() {
+        var csv = "# header\nMars?;Yes|No%true";
+
+        assertThrows(QuestionReadException.class, () -> plainParser.parse(stream(csv)).toList());
+    }
+
+    @Test
+    @DisplayName("Should drop trailing answer separators like the opencsv parser")
+    void shouldDropTrailingAnswerSeparators() {
+        var csv = "# header\nMars?;Yes%false|No%true|\nЛуна?;Да%true||\r\n";
+
+        var questions = plainParser.parse(stream(csv)).toList();
+
+        assertEquals(openCsvParser.parse(stream(csv)).toList(), questions);
+        assertEquals(2, questions.get(0).answers().size());
+        assertEquals(1, questions.get(1).answers().size());
+    }
+
+    private List<Question> parse(QuestionParser parser, String fileName) throws IOException {
+        try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream(fileName)) {
+            return parser.parse(inputStream).toList();
+        }
+    }
+
+    private InputStream stream(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,50 @@
+package ru.otus.hw.grading;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.otus.hw.domain.Answer;
+import ru.otus.hw.domain.Question;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AnswerKeyTest {
+
+    @Test
+    @DisplayName("Should mark exactly the correct answers of every question, across bitset words")
+    void shouldMatchCorrectAnswersOfEveryQuestion() {
+        var questions = IntStream.range(0, 50)
+                .mapToObj(i -> new Question("Question " + i, IntStream.range(0, 3 + i % 5)
+                        .mapToObj(a -> new Answer("Answer " + a, (a + i) % 4 == 0))
+                        .toList()))
+                .toList();
+
+        var answerKey = AnswerKey.compile(questions);
+
+        assertEquals(questions.size(), answerKey.questionCount());
+        for (int q = 0; q < questions.size(); q++) {
+            List<Answer> answers = questions.get(q).answers();
+            assertEquals(answers.size(), answerKey.answerCount(q));
+            for (int a = 0; a < answers.size(); a++) {
+                assertEquals(answers.get(a).isCorrect(), answerKey.isCorrect(q, a), "question " + q + ", answer " + a);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should treat answers outside of a question as wrong")
+    void shouldRejectOutOfRangeAnswers() {
+        var answerKey = AnswerKey.compile(List.of(
+                new Question("First", List.of(new Answer("a", false), new Answer("b", true))),
+                new Question("Second", List.of(new Answer("c", true)))));
+
+        assertTrue(answerKey.isCorrect(0, 1));
+        assertFalse(answerKey.isCorrect(0, 2));
+        assertFalse(answerKey.isCorrect(0, -1));
+        assertTrue(answerKey.isCorrect(1, 0));
+    }
+}
@@ -0,0 +1,110 @@
+package ru.otus.hw.grading;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.otus.hw.config.AppProperties;
+import ru.otus.hw.dao.QuestionDao;
+import ru.otus.hw.domain.Answer;
+import ru.otus.hw.domain.Question;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BulkGradingServiceTest {
+
+    private static final List<Question> QUESTIONS = List.of(
+            new Question("Is there life on Mars?", List.of(new Answer("Yes", false), new Answer("Unknown", true))),
+            new Question("Is the moon made of cheese?", List.of(new Answer("No", true), new Answer("Yes", false))),
+            new Question("Is Pluto a planet?", List.of(new Answer("Giant", false), new Answer("Dwarf", true),
+                    new Answer("No", false)))
+    );
+
+    @TempDir
+    private Path dir;
+
+    private BulkGradingService gradingService;
+
+    @BeforeEach
+    void setUp() {
+        var questionDao = mock(QuestionDao.class);
+        when(questionDao.findAll()).thenReturn(QUESTIONS);
+        var properties = new AppProperties();
+        properties.setRightAnswersCountToPass(2);
+        gradingService = new BulkGradingService(questionDao, properties);
+    }
+
+    @Test
+    @DisplayName("Should score, pass, fail and reject answer sheets in input order")
+    void shouldGradeAnswerSheets() throws IOException {
+        var sheets = Files.writeString(dir.resolve("sheets.txt"), String.join("\n",
+                "# first name;last name;answers",
+                "Ivan;Ivanov;2,1,2",
+                "Anna;Smith;1, 1",
+                "",
+                "Петр;Петров;2,2,2,",
+                "John;Doe;2,1,2,1",
+                "broken line",
+                "Jane;Roe;2,x,2"), StandardCharsets.UTF_8);
+        var results = dir.resolve("results.txt");
+
+        var summary = gradingService.grade(sheets, results);
+
+        assertEquals(List.of(
+                "Ivan;Ivanov;3;PASSED",
+                "Anna;Smith;1, 1;INVALID",
+                "Петр;Петров;2;PASSED",
+                "John;Doe;2,1,2,1;INVALID",
+                "broken line;INVALID",
+                "Jane;Roe;2,x,2;INVALID"), Files.readAllLines(results, StandardCharsets.UTF_8));
+        assertEquals(new GradingSummary(6, 2, 0, 4, summary.elapsedNanos()), summary);
+    }
+
+    @Test
+    @DisplayName("Should reject a sheet with an empty answer instead of scoring it as a wrong one")
+    void shouldRejectEmptyAnswers() {
+        var answerKey = AnswerKey.compile(QUESTIONS);
+
+        assertEquals(AnswerSheetGrader.INVALID, AnswerSheetGrader.score(answerKey, "Ivan;Ivanov;2,,2"));
+        assertEquals(AnswerSheetGrader.INVALID, AnswerSheetGrader.score(answerKey, "Ivan;Ivanov;2, ,2"));
+        assertEquals(AnswerSheetGrader.INVALID, AnswerSheetGrader.score(answerKey, "Ivan;Ivanov;2,1,"));
+        assertEquals(AnswerSheetGrader.INVALID, AnswerSheetGrader.score(answerKey, "Ivan;Ivanov;2,1,2,,"));
+        assertEquals(3, AnswerSheetGrader.score(answerKey, "Ivan;Ivanov;2,1,2,"));
+        assertEquals(2, AnswerSheetGrader.score(answerKey, "Ivan;Ivanov;2,1,0"));
+    }
+
+    @Test
+    @DisplayName("Should keep results in input order across parallel batches")
+    void shouldKeepOrderAcrossBatches() throws IOException {
+        var random = new Random(42);
+        var lines = IntStream.range(0, 300_000)
+                .mapToObj(i -> "Student;" + i + ";" + IntStream.range(0, QUESTIONS.size())
+                        .mapToObj(q -> String.valueOf(1 + random.nextInt(3)))
+                        .collect(Collectors.joining(",")))
+                .toList();
+        var sheets = Files.write(dir.resolve("sheets.txt"), lines, StandardCharsets.UTF_8);
+        var results = dir.resolve("results.txt");
+        var answerKey = AnswerKey.compile(QUESTIONS);
+
+        var summary = gradingService.grade(sheets, results);
+
+        var graded = Files.readAllLines(results, StandardCharsets.UTF_8);
+        assertEquals(lines.size(), graded.size());
+        for (int i = 0; i < lines.size(); i++) {
+            int score = AnswerSheetGrader.score(answerKey, lines.get(i));
+            assertEquals("Student;" + i + ";" + score + ";" + (score >= 2 ? "PASSED" : "FAILED"), graded.get(i));
+        }
+        assertEquals(lines.size(), summary.sheets());
+    }
+}
@@ -0,0 +1,129 @@
+package ru.otus.hw.journal;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.otus.hw.config.AppProperties;
+import ru.otus.hw.dao.BankVersion;
+import ru.otus.hw.dao.QuestionDao;
+import ru.otus.hw.domain.Answer;
+import ru.otus.hw.domain.Question;
+import ru.otus.hw.domain.Student;
+import ru.otus.hw.domain.TestResult;
+import ru.otus.hw.service.TestResultCompactor;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JournalResultSinkTest {
+
+    private static final List<Question> QUESTIONS = List.of(
+            new Question("Question 1", List.of(new Answer("Right", true), new Answer("Wrong", false))),
+            new Question("Question 2", List.of(new Answer("Wrong", false), new Answer("Right", true))));
+
+    @TempDir
+    private Path dir;
+
+    private Path file;
+
+    private JournalResultSink sink;
+
+    private final Map<String, List<Question>> banks = Map.of("questions.csv", QUESTIONS,
+            "questions_ru.csv", List.of(new Question("Вопрос 1", List.of(new Answer("Верно", true)))));
+
+    private BankVersion bankVersion = new BankVersion("questions.csv", 0);
+
+    private final List<BankVersion> loadedVersions = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        file = dir.resolve("results.journal");
+        var properties = new AppProperties();
+        properties.setResultJournalFile(file.toString());
+        properties.setJournalGroupCommitMillis(1);
+        QuestionDao questionDao = new QuestionDao() {
+            @Override
+            public List<Question> findAll() {
+                loadedVersions.add(bankVersion);
+                return findAll(bankVersion.fileName());
+            }
+
+            @Override
+            public List<Question> findAll(String fileName) {
+                return banks.get(fileName);
+            }
+
+            @Override
+            public BankVersion getBankVersion() {
+                return bankVersion;
+            }
+        };
+        sink = new JournalResultSink(properties, questionDao);
+        sink.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        sink.destroy();
+    }
+
+    @Test
+    @DisplayName("Should write the compact form of a result to the journal")
+    void shouldRecordResult() {
+        var result = new TestResult(new Student("Bob", "Smith"));
+        result.applyAnswer(QUESTIONS.get(0), 0);
+        result.applyAnswer(QUESTIONS.get(1), 0);
+
+        sink.record(result).join();
+        sink.destroy();
+
+        var recorded = ResultJournal.read(file);
+        assertEquals(1, recorded.size());
+        assertEquals(result, new TestResultCompactor(QUESTIONS).expand(recorded.get(0)));
+    }
+
+    @Test
+    @DisplayName("Should return a failed future instead of throwing for a question that is not in the bank")
+    void shouldFailFutureForUnknownQuestion() {
+        var result = new TestResult(new Student("Bob", "Smith"));
+        result.applyAnswer(new Question("Not in the bank", List.of(new Answer("Right", true))), 0);
+
+        var future = sink.record(result);
+
+        assertTrue(future.isCompletedExceptionally());
+        var e = assertThrows(CompletionException.class, future::join);
+        assertInstanceOf(IllegalArgumentException.class, e.getCause());
+        sink.destroy();
+        assertTrue(ResultJournal.read(file).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should keep a compactor per bank file and rebuild it only for a new bank version")
+    void shouldKeepCompactorPerBankVersion() {
+        var english = new BankVersion("questions.csv", 0);
+        var russian = new BankVersion("questions_ru.csv", 0);
+        var reloaded = new BankVersion("questions.csv", 1);
+        var unknown = new TestResult(new Student("Bob", "Smith"));
+        unknown.applyAnswer(new Question("Not in the bank", List.of(new Answer("Right", true))), 0);
+
+        for (var version : List.of(english, russian, english, russian, reloaded, reloaded)) {
+            bankVersion = version;
+            var result = new TestResult(new Student("Bob", "Smith"));
+            result.applyAnswer(0, banks.get(version.fileName()).get(0), 0);
+            sink.record(result).join();
+        }
+        assertThrows(CompletionException.class, () -> sink.record(unknown).join());
+
+        assertEquals(List.of(english, russian, reloaded), loadedVersions);
+    }
+}
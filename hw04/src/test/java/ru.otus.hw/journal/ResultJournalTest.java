@@ -0,0 +1,113 @@
+package ru.otus.hw.journal;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.otus.hw.domain.CompactTestResult;
+import ru.otus.hw.domain.Student;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResultJournalTest {
+
+    private static final Duration GROUP_COMMIT_DELAY = Duration.ofMillis(5);
+
+    @TempDir
+    private Path dir;
+
+    @Test
+    @DisplayName("Should read back every appended result in order")
+    void shouldReadBackAppendedResults() {
+        var file = dir.resolve("results.journal");
+        var results = IntStream.range(0, 200).mapToObj(ResultJournalTest::result).toList();
+
+        try (var journal = ResultJournal.open(file, 64 * 1024, GROUP_COMMIT_DELAY)) {
+            results.stream().map(journal::append).toList().forEach(CompletableFuture::join);
+        }
+        try (var journal = ResultJournal.open(file, 64 * 1024, GROUP_COMMIT_DELAY)) {
+            journal.append(result(200)).join();
+        }
+
+        var expected = new ArrayList<>(results);
+        expected.add(result(200));
+        assertEquals(expected, ResultJournal.read(file));
+    }
+
+    @Test
+    @DisplayName("Should record results of concurrent sessions with far fewer syncs than results")
+    void shouldGroupCommitConcurrentResults() {
+        var file = dir.resolve("results.journal");
+        int sessions = 10_000;
+        long syncs;
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        try (var journal = ResultJournal.open(file, 64 * 1024, GROUP_COMMIT_DELAY)) {
+            var futures = IntStream.range(0, sessions)
+                    .mapToObj(i -> CompletableFuture.supplyAsync(() -> journal.append(result(i)), executor)
+                            .thenCompose(future -> future))
+                    .toList();
+            futures.forEach(CompletableFuture::join);
+            syncs = journal.getSyncCount();
+        } finally {
+            executor.shutdown();
+        }
+
+        var recorded = ResultJournal.read(file);
+        assertEquals(sessions, recorded.size());
+        assertEquals(sessions, new HashSet<>(recorded).size());
+        assertTrue(syncs * 10 < sessions, "%d syncs for %d results".formatted(syncs, sessions));
+    }
+
+    @Test
+    @DisplayName("Should truncate a torn tail on open and keep appending after the last whole record")
+    void shouldTruncateTornTail() throws IOException {
+        var file = dir.resolve("results.journal");
+        try (var journal = ResultJournal.open(file, 64 * 1024, GROUP_COMMIT_DELAY)) {
+            journal.append(result(1)).join();
+            journal.append(result(2)).join();
+        }
+        long wholeSize = Files.size(file);
+        try (var channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(wholeSize - 3);
+        }
+        Files.write(file, new byte[] {7, 7, 7, 0, 0, 0, 10, 1}, StandardOpenOption.APPEND);
+
+        try (var journal = ResultJournal.open(file, 64 * 1024, GROUP_COMMIT_DELAY)) {
+            journal.append(result(3)).join();
+        }
+
+        assertEquals(List.of(result(1), result(3)), ResultJournal.read(file));
+    }
+
+    @Test
+    @DisplayName("Should reject appends after the journal is closed")
+    void shouldRejectAppendsAfterClose() {
+        var journal = ResultJournal.open(dir.resolve("results.journal"), 64 * 1024, GROUP_COMMIT_DELAY);
+        journal.close();
+
+        var future = journal.append(result(1));
+
+        assertThrows(Exception.class, future::join);
+    }
+
+    private static CompactTestResult result(int i) {
+        var rightAnswers = new long[] {i & 0b10101};
+        return new CompactTestResult(42L, new Student("Студент", "№" + i),
+                IntStream.range(0, 5).map(q -> CompactTestResult.pack(i + q, q % 3)).toArray(), rightAnswers);
+    }
+}
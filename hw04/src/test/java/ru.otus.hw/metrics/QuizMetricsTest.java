@@ -0,0 +1,64 @@
+package ru.otus.hw.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.otus.hw.service.StreamsIOService;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class QuizMetricsTest {
+
+    @TempDir
+    private Path dir;
+
+    @Test
+    @DisplayName("Should count invalid inputs and retries of every number read")
+    void shouldRecordInputRetries() {
+        var meterRegistry = new SimpleMeterRegistry();
+        var quizMetrics = new QuizMetrics(meterRegistry);
+        var input = "x\n7\n2\n1\n".getBytes(StandardCharsets.UTF_8);
+        var ioService = new StreamsIOService(new PrintStream(OutputStream.nullOutputStream()),
+                new ByteArrayInputStream(input), quizMetrics);
+
+        assertEquals(2, ioService.readIntForRange(1, 3, "error"));
+        assertEquals(1, ioService.readIntForRange(1, 3, "error"));
+
+        var retries = meterRegistry.get("quiz.input.retries").summary();
+        assertEquals(2, retries.count());
+        assertEquals(2, retries.totalAmount());
+        assertEquals(2, meterRegistry.get("quiz.input.invalid").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should dump quiz meters sorted by name and export the same lines to a file")
+    void shouldDumpAndExportMeters() throws IOException {
+        var quizMetrics = new QuizMetrics(new SimpleMeterRegistry());
+        quizMetrics.recordBankLoad("questions.csv", 2_500_000, 5);
+        quizMetrics.countMessageLookup();
+        quizMetrics.recordSession(1_000_000_000);
+        var file = dir.resolve("metrics.txt");
+
+        quizMetrics.export(file);
+
+        var expected = List.of(
+                "quiz.input.invalid count=0",
+                "quiz.input.retries count=0 total=0 max=0",
+                "quiz.messages.lookups count=1",
+                "quiz.questions.load{file=questions.csv} count=1 total=0.0025 max=0.0025 seconds",
+                "quiz.questions.loaded{file=questions.csv} count=1 total=5 max=5",
+                "quiz.session.duration count=1 total=1 max=1 seconds");
+        assertEquals(expected, quizMetrics.dump());
+        assertEquals(expected, Files.readAllLines(file, StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,225 @@
+package ru.otus.hw.server;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.StaticMessageSource;
+import ru.otus.hw.config.AppProperties;
+import ru.otus.hw.dao.QuestionDao;
+import ru.otus.hw.domain.Answer;
+import ru.otus.hw.domain.Question;
+import ru.otus.hw.journal.NoOpResultSink;
+import ru.otus.hw.metrics.QuizMetrics;
+import ru.otus.hw.service.MessageCatalog;
+import ru.otus.hw.service.QuestionSampler;
+import ru.otus.hw.service.QuestionScreenCache;
+import ru.otus.hw.session.QuizSessionManager;
+import ru.otus.hw.session.QuizSessionRunner;
+import ru.otus.hw.stats.QuestionStatistics;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuizServerTest {
+
+    private static final int CLIENTS = 300;
+
+    private static final List<Question> QUESTIONS = IntStream.range(0, 5)
+            .mapToObj(i -> new Question("Question " + i, List.of(new Answer("Right", true), new Answer("Wrong", false))))
+            .toList();
+
+    private AppProperties properties;
+
+    private QuizSessionRunner sessionRunner;
+
+    private QuizSessionManager sessionManager;
+
+    private QuizServer server;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AppProperties();
+        properties.setLocale("en-US");
+        properties.setRightAnswersCountToPass(QUESTIONS.size());
+        QuestionDao questionDao = new QuestionDao() {
+            @Override
+            public List<Question> findAll() {
+                return QUESTIONS;
+            }
+
+            @Override
+            public List<Question> findAll(String fileName) {
+                return QUESTIONS;
+            }
+        };
+        var messageSource = new StaticMessageSource();
+        messageSource.setUseCodeAsDefaultMessage(true);
+        sessionRunner = new QuizSessionRunner(properties, new MessageCatalog(messageSource), questionDao,
+                properties, new QuestionSampler(properties), new QuestionScreenCache(), new NoOpResultSink(),
+                new QuestionStatistics(properties), new QuizMetrics(new SimpleMeterRegistry()));
+        sessionManager = new QuizSessionManager(sessionRunner, properties);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (server != null) {
+            server.destroy();
+        }
+        sessionManager.destroy();
+    }
+
+    @Test
+    @DisplayName("Should serve a full test flow to every one of hundreds of concurrent clients")
+    void shouldServeConcurrentClients() throws Exception {
+        startServer();
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            List<CompletableFuture<long[]>> sessions = new ArrayList<>();
+            for (int i = 0; i < CLIENTS; i++) {
+                int client = i;
+                sessions.add(CompletableFuture.supplyAsync(() -> passTest(client), clients));
+            }
+            long[] latencies = sessions.stream()
+                    .map(CompletableFuture::join)
+                    .flatMapToLong(Arrays::stream)
+                    .sorted()
+                    .toArray();
+
+            assertEquals(CLIENTS * QUESTIONS.size(), latencies.length);
+            long p50 = percentile(latencies, 0.50);
+            long p99 = percentile(latencies, 0.99);
+            var report = "round trip per question of %d clients: p50 %.1f ms, p99 %.1f ms"
+                    .formatted(CLIENTS, p50 / 1e6, p99 / 1e6);
+            assertTrue(p50 < TimeUnit.SECONDS.toNanos(1), report);
+            assertTrue(p99 < TimeUnit.SECONDS.toNanos(5), report);
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should listen on the loopback interface by default")
+    void shouldBindToLoopbackByDefault() {
+        startServer();
+
+        assertTrue(server.getAddress().isLoopbackAddress());
+    }
+
+    @Test
+    @DisplayName("Should close a connection whose client stays silent past the read timeout")
+    void shouldCloseSilentConnection() throws IOException {
+        properties.setServerReadTimeoutMillis(200);
+        startServer();
+
+        try (var socket = connect(); var in = reader(socket)) {
+            socket.setSoTimeout((int) TimeUnit.SECONDS.toMillis(30));
+            assertTrue(in.lines().toList().contains("StudentService.input.first.name"));
+        }
+    }
+
+    @Test
+    @DisplayName("Should tell connections beyond serverMaxConnections that the server is busy and close them")
+    void shouldRefuseConnectionsBeyondLimit() throws IOException {
+        properties.setServerMaxConnections(1);
+        startServer();
+
+        try (var first = connect(); var firstIn = reader(first)) {
+            assertNotNull(firstIn.readLine());
+            try (var second = connect(); var secondIn = reader(second)) {
+                second.setSoTimeout((int) TimeUnit.SECONDS.toMillis(30));
+                assertEquals(QuizServer.SERVER_BUSY, secondIn.readLine());
+                assertNull(secondIn.readLine());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should not accept more connections than the session pool can run")
+    void shouldLimitConnectionsToSessionCapacity() throws IOException {
+        sessionManager.destroy();
+        properties.setSessionThreads(1);
+        sessionManager = new QuizSessionManager(sessionRunner, properties);
+        startServer();
+
+        try (var first = connect(); var firstIn = reader(first)) {
+            assertNotNull(firstIn.readLine());
+            try (var second = connect(); var secondIn = reader(second)) {
+                second.setSoTimeout((int) TimeUnit.SECONDS.toMillis(30));
+                assertEquals(QuizServer.SERVER_BUSY, secondIn.readLine());
+            }
+        }
+    }
+
+    private void startServer() {
+        server = new QuizServer(properties, sessionManager, new QuizMetrics(new SimpleMeterRegistry()));
+        server.afterSingletonsInstantiated();
+    }
+
+    private Socket connect() throws IOException {
+        return new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+    }
+
+    private BufferedReader reader(Socket socket) throws IOException {
+        return new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+    }
+
+    private long[] passTest(int client) {
+        try (var socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+             var in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             var out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8)) {
+            socket.setTcpNoDelay(true);
+            long[] latencies = new long[QUESTIONS.size()];
+            int answered = 0;
+            long sentAt = 0;
+            String line;
+            while ((line = in.readLine()) != null) {
+                switch (line) {
+                    case "StudentService.input.first.name" -> out.println("Student");
+                    case "StudentService.input.last.name" -> out.println("No" + client);
+                    case "TestService.prompt.select" -> {
+                        if (answered > 0) {
+                            latencies[answered - 1] = System.nanoTime() - sentAt;
+                        }
+                        sentAt = System.nanoTime();
+                        out.println("1");
+                        answered++;
+                    }
+                    case "ResultService.passed.test", "ResultService.fail.test" -> {
+                        latencies[answered - 1] = System.nanoTime() - sentAt;
+                        assertEquals("ResultService.passed.test", line);
+                        return latencies;
+                    }
+                    default -> {
+                    }
+                }
+            }
+            throw new AssertionError("Connection closed before the result of client " + client);
+        } catch (IOException e) {
+            throw new AssertionError("Client " + client + " failed", e);
+        }
+    }
+
+    private long percentile(long[] sorted, double percentile) {
+        return sorted[(int) Math.ceil(percentile * sorted.length) - 1];
+    }
+}
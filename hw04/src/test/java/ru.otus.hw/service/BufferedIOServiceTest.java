@@ -0,0 +1,185 @@
+package ru.otus.hw.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.otus.hw.metrics.QuizMetrics;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.IllegalFormatException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BufferedIOServiceTest {
+
+    private static final int QUESTIONS = 20_000;
+
+    private static final List<String> ANSWERS = List.of("Unknown", "Red ones are from Mars", "No");
+
+    @Test
+    @DisplayName("Should print formatted lines exactly like String.format")
+    void shouldFormatLikeStringFormat() {
+        var output = new ByteArrayOutputStream();
+        var ioService = new BufferedIOService(output, InputStream.nullInputStream(), quizMetrics());
+
+        ioService.printFormattedLine("  %d) %s", 12, "Вариант");
+        ioService.printFormattedLine("%d%% of %s", -2147483648, null);
+        ioService.printFormattedLine("%5.2f and %x", 3.14159, 255);
+        ioService.printLine("plain");
+        ioService.flush();
+
+        var expected = String.format("  %d) %s%n", 12, "Вариант")
+                + String.format("%d%% of %s%n", -2147483648, null)
+                + String.format("%5.2f and %x%n", 3.14159, 255)
+                + "plain" + System.lineSeparator();
+        assertEquals(expected, output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Should keep pre-rendered bytes in order with text lines and hold them until flush")
+    void shouldInterleaveBytesWithTextLines() {
+        var output = new ByteArrayOutputStream();
+        var ioService = new BufferedIOService(output, InputStream.nullInputStream(), quizMetrics());
+
+        ioService.printLine("Вопрос 1");
+        ioService.printBytes("  1) Да".getBytes(StandardCharsets.UTF_8));
+        ioService.printFormattedLine("  %d) %s", 2, "Нет");
+        assertEquals(0, output.size());
+        ioService.flush();
+
+        String separator = System.lineSeparator();
+        assertEquals("Вопрос 1" + separator + "  1) Да" + separator + "  2) Нет" + separator,
+                output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Should flush the prompt before reading and re-ask on invalid numbers")
+    void shouldFlushPromptAndRetryInvalidNumbers() {
+        var output = new ByteArrayOutputStream();
+        var input = new ByteArrayInputStream("abc\n\n-1\n99999999999\n+2\r\n".getBytes(StandardCharsets.UTF_8));
+        var ioService = new BufferedIOService(output, input, quizMetrics());
+
+        int value = ioService.readIntForRangeWithPrompt(1, 3, "Choose", "Wrong");
+
+        assertEquals(2, value);
+        String separator = System.lineSeparator();
+        assertEquals("Choose" + separator + ("Wrong" + separator).repeat(4), output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Should skip an overlong line as invalid input and read the next line from its start")
+    void shouldRejectOverlongLines() {
+        var output = new ByteArrayOutputStream();
+        var input = new ByteArrayInputStream(("1".repeat(5000) + "\n2\n" + "x".repeat(2000) + "\nAnn\n")
+                .getBytes(StandardCharsets.UTF_8));
+        var ioService = new BufferedIOService(output, input, quizMetrics());
+
+        assertEquals(2, ioService.readIntForRange(1, 3, "Wrong"));
+        assertEquals("Ann", ioService.readString());
+        assertEquals("Wrong" + System.lineSeparator(), output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Should discard an overlong text line and repeat the prompt")
+    void shouldRepromptAfterOverlongLine() {
+        var output = new ByteArrayOutputStream();
+        var input = new ByteArrayInputStream(("x".repeat(2000) + "\nAnn\n").getBytes(StandardCharsets.UTF_8));
+        var ioService = new BufferedIOService(output, input, quizMetrics());
+
+        assertEquals("Ann", ioService.readStringWithPrompt("Name"));
+        var separator = System.lineSeparator();
+        assertEquals("Name" + separator + "Name" + separator, output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Should give up after too many overlong text lines")
+    void shouldGiveUpAfterOverlongLines() {
+        var input = new ByteArrayInputStream(("x".repeat(2000) + "\n").repeat(10).getBytes(StandardCharsets.UTF_8));
+        var ioService = new BufferedIOService(new ByteArrayOutputStream(), input, quizMetrics());
+
+        assertThrows(IllegalArgumentException.class, () -> ioService.readStringWithPrompt("Name"));
+    }
+
+    @Test
+    @DisplayName("Should reject a trailing lone percent sign like String.format")
+    void shouldRejectTrailingPercent() {
+        var ioService = new BufferedIOService(OutputStream.nullOutputStream(), InputStream.nullInputStream(),
+                quizMetrics());
+
+        assertThrows(IllegalFormatException.class, () -> String.format("100%"));
+        assertThrows(IllegalFormatException.class, () -> ioService.printFormattedLine("100%"));
+        assertThrows(IllegalFormatException.class, () -> ioService.printFormattedLine("%d%", 100));
+    }
+
+    @Test
+    @DisplayName("Should give up after too many invalid answers")
+    void shouldGiveUpAfterTooManyInvalidAnswers() {
+        var input = new ByteArrayInputStream("x\n".repeat(10).getBytes(StandardCharsets.UTF_8));
+        var ioService = new BufferedIOService(OutputStream.nullOutputStream(), input, quizMetrics());
+
+        assertThrows(IllegalArgumentException.class, () -> ioService.readIntForRange(1, 3, "Wrong"));
+    }
+
+    @Test
+    @DisplayName("Should report invalid inputs and retries like the Scanner based service")
+    void shouldRecordInputMetrics() {
+        var meterRegistry = new SimpleMeterRegistry();
+        var input = new ByteArrayInputStream("x\n7\n2\n".getBytes(StandardCharsets.UTF_8));
+        var ioService = new BufferedIOService(OutputStream.nullOutputStream(), input, new QuizMetrics(meterRegistry));
+
+        assertEquals(2, ioService.readIntForRange(1, 3, "Wrong"));
+
+        assertEquals(2, meterRegistry.get("quiz.input.invalid").counter().count());
+        var retries = meterRegistry.get("quiz.input.retries").summary();
+        assertEquals(1, retries.count());
+        assertEquals(2, retries.totalAmount());
+    }
+
+    @Test
+    @DisplayName("Should allocate far less per question than the Scanner based service")
+    void shouldAllocateLessPerQuestion() {
+        long buffered = bytesPerQuestion(new BufferedIOService(OutputStream.nullOutputStream(), answers(),
+                quizMetrics()));
+        long streams = bytesPerQuestion(new StreamsIOService(new PrintStream(OutputStream.nullOutputStream()),
+                answers(), new QuizMetrics(new SimpleMeterRegistry())));
+
+        assertTrue(buffered * 5 < streams, "buffered %d vs streams %d bytes".formatted(buffered, streams));
+        assertTrue(buffered < 512, "buffered service allocates %d bytes per question".formatted(buffered));
+    }
+
+    private static QuizMetrics quizMetrics() {
+        return new QuizMetrics(new SimpleMeterRegistry());
+    }
+
+    private long bytesPerQuestion(IOService ioService) {
+        askQuestions(ioService, QUESTIONS / 2);
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        askQuestions(ioService, QUESTIONS / 2);
+        return (threads.getThreadAllocatedBytes(threadId) - before) / (QUESTIONS / 2);
+    }
+
+    private void askQuestions(IOService ioService, int count) {
+        for (int question = 1; question <= count; question++) {
+            ioService.printFormattedLine("Question %d: %s", question, "Is there life on Mars?");
+            for (int i = 0; i < ANSWERS.size(); i++) {
+                ioService.printFormattedLine("  %d) %s", i + 1, ANSWERS.get(i));
+            }
+            ioService.readIntForRangeWithPrompt(1, ANSWERS.size(), "Choose the answer", "Wrong answer");
+        }
+    }
+
+    private InputStream answers() {
+        return new ByteArrayInputStream("2\n".repeat(QUESTIONS).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,66 @@
+package ru.otus.hw.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.NoSuchMessageException;
+import org.springframework.context.support.ResourceBundleMessageSource;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MessageCatalogTest {
+
+    private static final List<Locale> LOCALES = List.of(Locale.forLanguageTag("ru-RU"),
+            Locale.forLanguageTag("en-US"), Locale.ROOT);
+
+    private final ResourceBundleMessageSource messageSource = newMessageSource();
+
+    private final MessageCatalog messageCatalog = new MessageCatalog(messageSource);
+
+    @Test
+    @DisplayName("Should resolve every code the same way as the MessageSource")
+    void shouldMatchMessageSource() {
+        List<Object[]> argumentSets = List.of(new Object[]{7, "Марс?"}, new Object[]{123456, 2.5},
+                new Object[]{-3L}, new Object[]{null, 'x', 42});
+        for (Locale locale : LOCALES) {
+            for (MessageCode code : MessageCode.values()) {
+                assertEquals(messageSource.getMessage(code.getCode(), null, locale),
+                        messageCatalog.getMessage(code, null, locale));
+                for (Object[] args : argumentSets) {
+                    assertEquals(messageSource.getMessage(code.getCode(), args, locale),
+                            messageCatalog.getMessage(code, args, locale));
+                    assertEquals(messageSource.getMessage(code.getCode(), args, locale),
+                            messageCatalog.getMessage(code.getCode(), args, locale));
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should return the same constant string for messages without arguments")
+    void shouldReturnConstantForMessagesWithoutArguments() {
+        var locale = Locale.forLanguageTag("ru-RU");
+
+        assertSame(messageCatalog.getMessage(MessageCode.TEST_PROMPT_SELECT, null, locale),
+                messageCatalog.getMessage(MessageCode.TEST_PROMPT_SELECT, new Object[0], locale));
+    }
+
+    @Test
+    @DisplayName("Should delegate unknown codes to the MessageSource")
+    void shouldDelegateUnknownCodes() {
+        assertThrows(NoSuchMessageException.class,
+                () -> messageCatalog.getMessage("Unknown.code", null, Locale.ROOT));
+    }
+
+    private static ResourceBundleMessageSource newMessageSource() {
+        var source = new ResourceBundleMessageSource();
+        source.setBasename("messages");
+        source.setDefaultEncoding("UTF-8");
+        source.setFallbackToSystemLocale(false);
+        return source;
+    }
+}
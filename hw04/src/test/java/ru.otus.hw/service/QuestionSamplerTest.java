@@ -0,0 +1,150 @@
+package ru.otus.hw.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.otus.hw.config.AppProperties;
+import ru.otus.hw.dao.QuestionDao;
+import ru.otus.hw.domain.IndexedQuestion;
+import ru.otus.hw.domain.Question;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class QuestionSamplerTest {
+
+    private static final int BANK_SIZE = 100;
+
+    private static final int SAMPLE_SIZE = 10;
+
+    @Test
+    @DisplayName("Should select the requested number of distinct questions in bank order")
+    void shouldSelectDistinctQuestionsInBankOrder() {
+        var sample = newSampler(42L).sample(bank(), SAMPLE_SIZE);
+
+        assertEquals(SAMPLE_SIZE, sample.size());
+        assertEquals(SAMPLE_SIZE, sample.stream().distinct().count());
+        assertEquals(sample.stream().sorted((a, b) -> Integer.compare(position(a), position(b))).toList(), sample);
+    }
+
+    @Test
+    @DisplayName("Should reproduce the same selection for the same seed")
+    void shouldBeReproducibleWithSeed() {
+        assertEquals(newSampler(7L).sample(bank(), SAMPLE_SIZE), newSampler(7L).sample(bank(), SAMPLE_SIZE));
+    }
+
+    @Test
+    @DisplayName("Should give every session its own selection that depends only on the seed and session id")
+    void shouldDeriveSelectionFromSeedAndSessionId() {
+        var questionDao = mock(QuestionDao.class);
+        when(questionDao.isIndexed()).thenReturn(false);
+        when(questionDao.stream()).thenAnswer(invocation -> bank());
+        var sampler = newSampler(7L);
+
+        var secondSession = sampler.sample(questionDao, SAMPLE_SIZE, 2);
+        var firstSession = sampler.sample(questionDao, SAMPLE_SIZE, 1);
+
+        assertNotEquals(firstSession, secondSession);
+        assertEquals(firstSession, newSampler(7L).sample(questionDao, SAMPLE_SIZE, 1));
+        assertEquals(secondSession, newSampler(7L).sample(questionDao, SAMPLE_SIZE, 2));
+    }
+
+    @Test
+    @DisplayName("Should return the whole bank when it is smaller than the sample")
+    void shouldReturnWholeSmallBank() {
+        assertEquals(bank().toList(), newSampler(1L).sample(bank(), BANK_SIZE * 2).stream()
+                .map(IndexedQuestion::question)
+                .toList());
+    }
+
+    @Test
+    @DisplayName("Should pick every position with roughly equal probability")
+    void shouldSampleUniformly() {
+        var sampler = newSampler(2025L);
+        int rounds = 20_000;
+        int[] hits = new int[BANK_SIZE];
+        for (int i = 0; i < rounds; i++) {
+            sampler.sample(bank(), SAMPLE_SIZE).forEach(question -> hits[position(question)]++);
+        }
+        double expected = (double) rounds * SAMPLE_SIZE / BANK_SIZE;
+        for (int count : hits) {
+            assertTrue(Math.abs(count - expected) < expected * 0.15,
+                    "Position frequency %d is too far from %.0f".formatted(count, expected));
+        }
+    }
+
+    @Test
+    @DisplayName("Should sample an indexed bank by position without reading all of it")
+    void shouldSampleIndexedBankByPosition() {
+        var questionDao = mock(QuestionDao.class);
+        var questions = bank().toList();
+        when(questionDao.isIndexed()).thenReturn(true);
+        when(questionDao.count()).thenReturn(BANK_SIZE);
+        when(questionDao.findByIndex(anyInt())).thenAnswer(invocation -> questions.get(invocation.getArgument(0)));
+
+        var sample = newSampler(42L).sample(questionDao, SAMPLE_SIZE);
+
+        assertEquals(SAMPLE_SIZE, sample.stream().distinct().count());
+        assertEquals(sample.stream().sorted((a, b) -> Integer.compare(position(a), position(b))).toList(), sample);
+        verify(questionDao, times(SAMPLE_SIZE)).findByIndex(anyInt());
+        verify(questionDao, never()).stream();
+    }
+
+    @Test
+    @DisplayName("Should pick every index of an indexed bank with roughly equal probability")
+    void shouldSampleIndexedBankUniformly() {
+        var questionDao = mock(QuestionDao.class);
+        var questions = bank().toList();
+        when(questionDao.isIndexed()).thenReturn(true);
+        when(questionDao.count()).thenReturn(BANK_SIZE);
+        when(questionDao.findByIndex(anyInt())).thenAnswer(invocation -> questions.get(invocation.getArgument(0)));
+        var sampler = newSampler(2025L);
+        int rounds = 20_000;
+        int[] hits = new int[BANK_SIZE];
+        for (int i = 0; i < rounds; i++) {
+            sampler.sample(questionDao, SAMPLE_SIZE).forEach(question -> hits[position(question)]++);
+        }
+        double expected = (double) rounds * SAMPLE_SIZE / BANK_SIZE;
+        for (int count : hits) {
+            assertTrue(Math.abs(count - expected) < expected * 0.15,
+                    "Index frequency %d is too far from %.0f".formatted(count, expected));
+        }
+    }
+
+    @Test
+    @DisplayName("Should fall back to streaming when the bank is not indexed")
+    void shouldStreamBankWithoutIndex() {
+        var questionDao = mock(QuestionDao.class);
+        when(questionDao.isIndexed()).thenReturn(false);
+        when(questionDao.stream()).thenReturn(bank());
+
+        assertEquals(SAMPLE_SIZE, newSampler(3L).sample(questionDao, SAMPLE_SIZE).size());
+        verify(questionDao, never()).findByIndex(anyInt());
+    }
+
+    private QuestionSampler newSampler(Long seed) {
+        var properties = new AppProperties();
+        properties.setSamplingSeed(seed);
+        return new QuestionSampler(properties);
+    }
+
+    private Stream<Question> bank() {
+        return IntStream.range(0, BANK_SIZE).mapToObj(i -> new Question(String.valueOf(i), List.of()));
+    }
+
+    private int position(IndexedQuestion question) {
+        int position = Integer.parseInt(question.question().text());
+        assertEquals(position, question.index());
+        return position;
+    }
+}
@@ -0,0 +1,48 @@
+package ru.otus.hw.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.otus.hw.dao.BankVersion;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuestionScreenCacheTest {
+
+    private static final BankVersion VERSION = new BankVersion("questions.csv", 0);
+
+    @Test
+    @DisplayName("Should keep the recently shown screens and evict the rest when full")
+    void shouldEvictLeastRecentlyShownScreens() {
+        var cache = new QuestionScreenCache();
+        byte[] first = cache.get(VERSION, Locale.ENGLISH, 0, 1, () -> "first");
+        for (int index = 1; index < 20_000; index++) {
+            cache.get(VERSION, Locale.ENGLISH, index, 1, () -> "other");
+            assertSame(first, cache.get(VERSION, Locale.ENGLISH, 0, 1, () -> "rendered again"));
+        }
+
+        assertTrue(cache.size() <= 10_000, "%d screens are cached".formatted(cache.size()));
+        assertEquals("rendered again", text(cache.get(VERSION, Locale.ENGLISH, 1, 1, () -> "rendered again")));
+    }
+
+    @Test
+    @DisplayName("Should render again for another bank version, locale or question number")
+    void shouldRenderAgainForAnotherKey() {
+        var cache = new QuestionScreenCache();
+        byte[] screen = cache.get(VERSION, Locale.ENGLISH, 3, 1, () -> "Question 1: Dwarf");
+
+        assertSame(screen, cache.get(VERSION, Locale.ENGLISH, 3, 1, () -> "rendered again"));
+        assertEquals("Question 1: Planet",
+                text(cache.get(new BankVersion("questions.csv", 1), Locale.ENGLISH, 3, 1, () -> "Question 1: Planet")));
+        assertEquals("Frage 1: Zwerg", text(cache.get(VERSION, Locale.GERMAN, 3, 1, () -> "Frage 1: Zwerg")));
+        assertEquals("Question 2: Dwarf", text(cache.get(VERSION, Locale.ENGLISH, 3, 2, () -> "Question 2: Dwarf")));
+    }
+
+    private String text(byte[] screen) {
+        return new String(screen, StandardCharsets.UTF_8);
+    }
+}
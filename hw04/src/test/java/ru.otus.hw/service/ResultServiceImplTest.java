@@ -0,0 +1,58 @@
+package ru.otus.hw.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.otus.hw.config.AppProperties;
+import ru.otus.hw.domain.Answer;
+import ru.otus.hw.domain.Question;
+import ru.otus.hw.domain.Student;
+import ru.otus.hw.domain.TestResult;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class ResultServiceImplTest {
+
+    private final LocalizedIOService ioService = mock(LocalizedIOService.class);
+
+    private final TestResult result = passedResult();
+
+    @Test
+    @DisplayName("Should show the result once it is recorded")
+    void shouldShowRecordedResult() {
+        var resultService = new ResultServiceImpl(new AppProperties(), ioService,
+                testResult -> CompletableFuture.completedFuture(null));
+
+        resultService.showResult(result);
+
+        verify(ioService).printLineLocalized("ResultService.passed.test");
+        verify(ioService, never()).printLineLocalized("ResultService.not.recorded");
+    }
+
+    @Test
+    @DisplayName("Should tell the student that a result the sink failed to record is not saved")
+    void shouldReportUnrecordedResult() {
+        var resultService = new ResultServiceImpl(new AppProperties(), ioService,
+                testResult -> CompletableFuture.failedFuture(new UncheckedIOException(new IOException("Disk full"))));
+
+        resultService.showResult(result);
+
+        var order = inOrder(ioService);
+        order.verify(ioService).printLineLocalized("ResultService.passed.test");
+        order.verify(ioService).printLineLocalized("ResultService.not.recorded");
+        order.verify(ioService).flush();
+    }
+
+    private static TestResult passedResult() {
+        var testResult = new TestResult(new Student("Bob", "Smith"));
+        testResult.applyAnswer(new Question("Is Pluto a planet?", List.of(new Answer("Dwarf", true))), 0);
+        return testResult;
+    }
+}
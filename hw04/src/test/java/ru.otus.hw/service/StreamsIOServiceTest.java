@@ -0,0 +1,41 @@
+package ru.otus.hw.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.otus.hw.metrics.QuizMetrics;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StreamsIOServiceTest {
+
+    private static final String SCREEN = "  1) Ça va, très bien";
+
+    @Test
+    @DisplayName("Should write pre-rendered UTF-8 bytes as they are to a UTF-8 stream")
+    void shouldWriteBytesToUtf8Stream() {
+        assertEquals(SCREEN + System.lineSeparator(), printBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Should re-encode pre-rendered bytes for a stream with another charset")
+    void shouldReencodeBytesForOtherCharset() {
+        assertEquals(SCREEN + System.lineSeparator(), printBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    private String printBytes(Charset charset) {
+        var output = new ByteArrayOutputStream();
+        var ioService = new StreamsIOService(new PrintStream(output, true, charset), charset,
+                InputStream.nullInputStream(), new QuizMetrics(new SimpleMeterRegistry()));
+
+        ioService.printBytes(SCREEN.getBytes(StandardCharsets.UTF_8));
+
+        return output.toString(charset);
+    }
+}
@@ -0,0 +1,99 @@
+package ru.otus.hw.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.otus.hw.dao.binary.DirectQuestionBankWriter;
+import ru.otus.hw.domain.Answer;
+import ru.otus.hw.domain.Question;
+import ru.otus.hw.domain.Student;
+import ru.otus.hw.domain.TestResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TestResultCompactorTest {
+
+    private final List<Question> bank = IntStream.range(0, 100)
+            .mapToObj(i -> new Question("Question " + i, List.of(
+                    new Answer("Right", true), new Answer("Wrong", false), new Answer("Also wrong", false))))
+            .toList();
+
+    private final TestResultCompactor compactor = new TestResultCompactor(bank);
+
+    @Test
+    @DisplayName("Should restore exactly the same TestResult from its compact form")
+    void shouldConvertLosslessly() {
+        var random = new Random(42);
+        for (int i = 0; i < 1_000; i++) {
+            var result = randomResult(random, new Student("Student", String.valueOf(i)), 1 + random.nextInt(100));
+
+            var compact = compactor.compact(result);
+
+            assertEquals(result.getRightAnswersCount(), compact.rightAnswersCount());
+            assertEquals(result, compactor.expand(compact));
+        }
+    }
+
+    @Test
+    @DisplayName("Should accept equal questions that are not the bank instances")
+    void shouldResolveQuestionsByValue() {
+        var question = bank.get(7);
+        var result = new TestResult(new Student("Bob", "Smith"));
+        result.applyAnswer(new Question(question.text(), List.copyOf(question.answers())), 0);
+
+        var compact = compactor.compact(result);
+
+        assertEquals(7, compact.questionIndex(0));
+        assertEquals(result, compactor.expand(compact));
+    }
+
+    @Test
+    @DisplayName("Should refuse to expand a result of another bank version")
+    void shouldRejectOtherBankVersion() {
+        var otherBank = new ArrayList<>(bank);
+        otherBank.set(0, new Question("Changed", bank.get(0).answers()));
+        var otherCompactor = new TestResultCompactor(otherBank);
+        var result = new TestResult(new Student("Bob", "Smith"));
+        result.applyAnswer(bank.get(1), 1);
+
+        assertNotEquals(compactor.getBankVersion(), otherCompactor.getBankVersion());
+        var compact = compactor.compact(result);
+        assertThrows(IllegalArgumentException.class, () -> otherCompactor.expand(compact));
+    }
+
+    @Test
+    @DisplayName("Should compact by the recorded bank position and fall back to a scan of an off-heap bank")
+    void shouldUseBankPositionsOfOffHeapBank() {
+        var writer = new DirectQuestionBankWriter();
+        bank.forEach(writer::append);
+        var offHeapCompactor = new TestResultCompactor(writer.finish());
+        var result = new TestResult(new Student("Bob", "Smith"));
+        result.applyAnswer(42, bank.get(42), 0);
+        result.applyAnswer(bank.get(7), 2);
+
+        var compact = offHeapCompactor.compact(result);
+
+        assertEquals(compactor.getBankVersion(), offHeapCompactor.getBankVersion());
+        assertEquals(42, compact.questionIndex(0));
+        assertEquals(7, compact.questionIndex(1));
+        var expanded = offHeapCompactor.expand(compact);
+        assertEquals(result, expanded);
+        assertArrayEquals(new int[] {42, 7}, expanded.getBankIndexes());
+    }
+
+    private TestResult randomResult(Random random, Student student, int questions) {
+        var result = new TestResult(student);
+        for (int i = 0; i < questions; i++) {
+            var question = bank.get(random.nextInt(bank.size()));
+            result.applyAnswer(question, random.nextInt(question.answers().size()));
+        }
+        return result;
+    }
+}
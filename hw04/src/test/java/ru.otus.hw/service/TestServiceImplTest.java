@@ -3,25 +3,37 @@ package ru.otus.hw.service;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import ru.otus.hw.config.LocaleConfig;
+import ru.otus.hw.config.TestConfig;
+import ru.otus.hw.dao.BankVersion;
 import ru.otus.hw.dao.QuestionDao;
 import ru.otus.hw.domain.Answer;
+import ru.otus.hw.domain.IndexedQuestion;
 import ru.otus.hw.domain.Question;
 import ru.otus.hw.domain.Student;
 import ru.otus.hw.domain.TestResult;
 import ru.otus.hw.exceptions.QuestionReadException;
+import ru.otus.hw.stats.QuestionStatistics;
 
-import java.util.Collections;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-@SpringBootTest(classes = TestServiceImpl.class)
+@SpringBootTest(classes = {TestServiceImpl.class, QuestionScreenCache.class, QuestionStatistics.class})
 class TestServiceImplTest {
 
     private static final String PROMPT_SELECT = "Select answer number:";
@@ -34,6 +46,15 @@ class TestServiceImplTest {
     @MockitoBean
     private QuestionDao questionDao;
 
+    @MockitoBean
+    private TestConfig testConfig;
+
+    @MockitoBean
+    private QuestionSampler questionSampler;
+
+    @MockitoBean
+    private LocaleConfig localeConfig;
+
     @Autowired
     private TestServiceImpl testService;
 
@@ -42,13 +63,17 @@ class TestServiceImplTest {
     @BeforeEach
     void setUp() {
         testStudent = new Student("Bob", "Smith");
+        when(questionDao.getBankVersion()).thenReturn(BankVersion.FIXED);
+        when(ioService.getMessage(eq(MessageCode.TEST_PROMPT_QUESTION), any(), any()))
+                .thenAnswer(invocation -> "Question %s: %s".formatted(invocation.getArgument(1),
+                        invocation.getArgument(2)));
     }
 
     @Test
     @DisplayName("Should throw QuestionReadException when no questions are returned")
     void shouldThrowWhenNoQuestions() {
-        when(questionDao.findAll()).thenReturn(Collections.emptyList());
-        when(ioService.getMessage("TestService.error.noQuestions"))
+        when(questionDao.stream()).thenReturn(Stream.empty());
+        when(ioService.getMessage(MessageCode.TEST_ERROR_NO_QUESTIONS))
                 .thenReturn(ERROR_NO_QUEST);
 
         QuestionReadException ex = assertThrows(
@@ -67,13 +92,13 @@ class TestServiceImplTest {
         Question q1 = new Question("Is there life on Mars?", List.of(a1, a2));
 
 
-        when(questionDao.findAll()).thenReturn(List.of(q1));
+        when(questionDao.stream()).thenReturn(Stream.of(q1));
 
 
-        when(ioService.getMessage("TestService.prompt.select"))
+        when(ioService.getMessage(MessageCode.TEST_PROMPT_SELECT))
                 .thenReturn(PROMPT_SELECT);
         String formattedError = String.format(ERROR_SELECT, 1, 2);
-        when(ioService.getMessage("TestService.error.select", 1, 2))
+        when(ioService.getMessage(MessageCode.TEST_ERROR_SELECT, 1, 2))
                 .thenReturn(formattedError);
 
 
@@ -92,4 +117,86 @@ class TestServiceImplTest {
         assertEquals(1, result.getRightAnswersCount());
         assertEquals(q1, result.getAnsweredQuestions().get(0));
     }
+
+    @Test
+    @DisplayName("Should ask only the sampled questions when questionsPerSession is set")
+    void shouldAskOnlySampledQuestions() {
+        Question q1 = new Question("Is there life on Mars?", List.of(new Answer("Unknown", true)));
+        Question q2 = new Question("Is the moon made of cheese?", List.of(new Answer("No", true)));
+
+        when(testConfig.getQuestionsPerSession()).thenReturn(1);
+        when(questionSampler.sample(questionDao, 1)).thenReturn(List.of(new IndexedQuestion(1, q2)));
+        when(ioService.readIntForRangeWithPrompt(eq(1), eq(1), any(), any())).thenReturn(1);
+
+        TestResult result = testService.executeTestFor(testStudent);
+
+        assertEquals(List.of(q2), result.getAnsweredQuestions());
+        assertEquals(1, result.getRightAnswersCount());
+    }
+
+    @Test
+    @DisplayName("Should render a question with its answers once and reuse the bytes in later sessions")
+    void shouldReuseRenderedQuestionScreen() {
+        Question question = new Question("Is Pluto a planet?", List.of(new Answer("Dwarf", true),
+                new Answer("Giant", false)));
+        when(localeConfig.getLocale()).thenReturn(Locale.ENGLISH);
+        when(questionDao.stream()).thenAnswer(invocation -> Stream.of(question));
+        when(ioService.readIntForRangeWithPrompt(eq(1), eq(2), any(), any())).thenReturn(1);
+
+        testService.executeTestFor(testStudent);
+        testService.executeTestFor(testStudent);
+
+        var screen = ArgumentCaptor.forClass(byte[].class);
+        verify(ioService, times(2)).printBytes(screen.capture());
+        assertSame(screen.getAllValues().get(0), screen.getAllValues().get(1));
+        assertEquals(String.join(System.lineSeparator(), "Question 1: Is Pluto a planet?", "  1) Dwarf", "  2) Giant"),
+                new String(screen.getValue(), StandardCharsets.UTF_8));
+        verify(ioService).getMessage(MessageCode.TEST_PROMPT_QUESTION, 1, question.text());
+    }
+
+    @Test
+    @DisplayName("Should render the question again once the bank is reloaded")
+    void shouldRenderAgainForReloadedBank() {
+        Question before = new Question("Is Pluto a planet?", List.of(new Answer("Dwarf", true)));
+        Question after = new Question("Is Pluto a planet?", List.of(new Answer("Planet", true)));
+        when(localeConfig.getLocale()).thenReturn(Locale.ENGLISH);
+        when(questionDao.getBankVersion()).thenReturn(new BankVersion("questions.csv", 1),
+                new BankVersion("questions.csv", 2));
+        when(questionDao.stream()).thenReturn(Stream.of(before), Stream.of(after));
+        when(ioService.readIntForRangeWithPrompt(eq(1), eq(1), any(), any())).thenReturn(1);
+
+        testService.executeTestFor(testStudent);
+        testService.executeTestFor(testStudent);
+
+        var screen = ArgumentCaptor.forClass(byte[].class);
+        verify(ioService, times(2)).printBytes(screen.capture());
+        assertEquals(String.join(System.lineSeparator(), "Question 1: Is Pluto a planet?", "  1) Planet"),
+                new String(screen.getValue(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Should reuse the screen of a sampled question asked under the same number again")
+    void shouldReuseScreenOfSampledQuestion() {
+        Question first = new Question("Is Pluto a planet?", List.of(new Answer("Dwarf", true)));
+        Question second = new Question("Is the moon made of cheese?", List.of(new Answer("No", true)));
+        when(localeConfig.getLocale()).thenReturn(Locale.ENGLISH);
+        when(testConfig.getQuestionsPerSession()).thenReturn(2);
+        when(questionSampler.sample(questionDao, 2))
+                .thenReturn(List.of(new IndexedQuestion(7, first), new IndexedQuestion(9, second)))
+                .thenReturn(List.of(new IndexedQuestion(9, second)))
+                .thenReturn(List.of(new IndexedQuestion(7, first), new IndexedQuestion(9, second)));
+        when(ioService.readIntForRangeWithPrompt(eq(1), eq(1), any(), any())).thenReturn(1);
+
+        testService.executeTestFor(testStudent);
+        testService.executeTestFor(testStudent);
+        testService.executeTestFor(testStudent);
+
+        var screen = ArgumentCaptor.forClass(byte[].class);
+        verify(ioService, times(5)).printBytes(screen.capture());
+        var screens = screen.getAllValues();
+        assertSame(screens.get(0), screens.get(3));
+        assertSame(screens.get(1), screens.get(4));
+        assertEquals(String.join(System.lineSeparator(), "Question 1: Is the moon made of cheese?", "  1) No"),
+                new String(screens.get(2), StandardCharsets.UTF_8));
+    }
 }
@@ -0,0 +1,290 @@
+package ru.otus.hw.session;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.StaticMessageSource;
+import ru.otus.hw.config.AppProperties;
+import ru.otus.hw.dao.QuestionDao;
+import ru.otus.hw.domain.Answer;
+import ru.otus.hw.domain.Question;
+import ru.otus.hw.domain.TestResult;
+import ru.otus.hw.journal.NoOpResultSink;
+import ru.otus.hw.metrics.QuizMetrics;
+import ru.otus.hw.service.IOService;
+import ru.otus.hw.service.MessageCatalog;
+import ru.otus.hw.service.QuestionSampler;
+import ru.otus.hw.service.QuestionScreenCache;
+import ru.otus.hw.service.StreamsIOService;
+import ru.otus.hw.stats.QuestionStatistics;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuizSessionManagerTest {
+
+    private static final Duration TIMEOUT = Duration.ofMinutes(1);
+
+    private static final Duration THINK_TIME = Duration.ofMillis(1500);
+
+    private static final List<Question> QUESTIONS = List.of(
+            new Question("Is there life on Mars?", List.of(new Answer("Yes", false), new Answer("Unknown", true))),
+            new Question("Is the moon made of cheese?", List.of(new Answer("No", true), new Answer("Yes", false))),
+            new Question("Is Pluto a planet?", List.of(new Answer("Dwarf", true), new Answer("Giant", false)))
+    );
+
+    private QuizSessionRunner sessionRunner;
+
+    private QuizSessionManager sessionManager;
+
+    @BeforeEach
+    void setUp() {
+        var properties = new AppProperties();
+        properties.setLocale("en-US");
+        properties.setRightAnswersCountToPass(2);
+        QuestionDao questionDao = new QuestionDao() {
+            @Override
+            public List<Question> findAll() {
+                return QUESTIONS;
+            }
+
+            @Override
+            public List<Question> findAll(String fileName) {
+                return QUESTIONS;
+            }
+        };
+        var messageSource = new StaticMessageSource();
+        messageSource.setUseCodeAsDefaultMessage(true);
+        sessionRunner = new QuizSessionRunner(properties, new MessageCatalog(messageSource), questionDao,
+                properties, new QuestionSampler(properties), new QuestionScreenCache(), new NoOpResultSink(),
+                new QuestionStatistics(properties), new QuizMetrics(new SimpleMeterRegistry()));
+        sessionManager = newSessionManager(4, 10_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sessionManager.destroy();
+    }
+
+    @Test
+    @DisplayName("Should keep results of concurrent sessions independent")
+    void shouldKeepSessionResultsIndependent() throws Exception {
+        var first = sessionManager.start();
+        var second = sessionManager.start();
+
+        sessionManager.attach(second.getId(), io("Ann", "Smith", "1", "2", "2"));
+        sessionManager.attach(first.getId(), io("John", "Doe", "2", "1", "1"));
+
+        TestResult firstResult = sessionManager.await(first, TIMEOUT);
+        TestResult secondResult = sessionManager.await(second, TIMEOUT);
+        assertEquals("John Doe", firstResult.getStudent().getFullName());
+        assertEquals(3, firstResult.getRightAnswersCount());
+        assertEquals("Ann Smith", secondResult.getStudent().getFullName());
+        assertEquals(0, secondResult.getRightAnswersCount());
+        assertEquals(0, sessionManager.getActiveSessionCount());
+    }
+
+    @Test
+    @DisplayName("Should reject a second IO for the same session and unknown sessions")
+    void shouldRejectInvalidAttach() throws Exception {
+        var session = sessionManager.start();
+        sessionManager.attach(session.getId(), io("John", "Doe", "2", "1", "1"));
+
+        assertThrows(IllegalStateException.class, () -> sessionManager.attach(session.getId(), io()));
+        assertThrows(IllegalArgumentException.class, () -> sessionManager.attach(-1, io()));
+        sessionManager.await(session, TIMEOUT);
+    }
+
+    @Test
+    @DisplayName("Should rethrow the failure of a session from await")
+    void shouldRethrowSessionFailure() {
+        var session = sessionManager.start();
+        sessionManager.attach(session.getId(), io("John"));
+
+        assertThrows(RuntimeException.class, () -> sessionManager.await(session, TIMEOUT));
+    }
+
+    @Test
+    @DisplayName("Should scale throughput almost linearly with the number of concurrent sessions up to 10k")
+    void shouldScaleThroughputWithConcurrentSessions() throws Exception {
+        sessionManager.destroy();
+        sessionManager = newSessionManager(10_000, 0);
+
+        double baseline = 0;
+        for (int concurrency : new int[] {100, 1_000, 10_000}) {
+            double perSession = throughput(concurrency) / concurrency;
+            baseline = baseline == 0 ? perSession : baseline;
+            double efficiency = perSession / baseline;
+            assertTrue(efficiency > 0.6, "%d concurrent sessions ran at %.0f%% of linear throughput"
+                    .formatted(concurrency, efficiency * 100));
+        }
+        assertEquals(0, sessionManager.getActiveSessionCount());
+    }
+
+    @Test
+    @DisplayName("Should reject sessions beyond the pool and queue capacity")
+    void shouldRejectSessionsBeyondCapacity() throws Exception {
+        sessionManager.destroy();
+        sessionManager = newSessionManager(1, 1);
+        var input = new CountDownLatch(1);
+        var running = sessionManager.start();
+        var queued = sessionManager.start();
+        var rejected = sessionManager.start();
+
+        sessionManager.attach(running.getId(), blockingIo(input, "John", "Doe", "2", "1", "1"));
+        sessionManager.attach(queued.getId(), io("Ann", "Smith", "2", "1", "1"));
+        assertThrows(RejectedExecutionException.class, () -> sessionManager.attach(rejected.getId(), io()));
+        assertTrue(sessionManager.submit(io()).isCompletedExceptionally());
+        input.countDown();
+
+        assertThrows(RejectedExecutionException.class, () -> sessionManager.await(rejected, TIMEOUT));
+        assertEquals(3, sessionManager.await(running, TIMEOUT).getRightAnswersCount());
+        assertEquals(3, sessionManager.await(queued, TIMEOUT).getRightAnswersCount());
+        assertEquals(0, sessionManager.getActiveSessionCount());
+    }
+
+    @Test
+    @DisplayName("Should cancel a session without IO and refuse to cancel an attached one")
+    void shouldCancelSessionWithoutIo() throws Exception {
+        var idle = sessionManager.start();
+        var attached = sessionManager.start();
+        sessionManager.attach(attached.getId(), io("John", "Doe", "2", "1", "1"));
+
+        assertTrue(sessionManager.cancel(idle.getId()));
+        assertFalse(sessionManager.cancel(idle.getId()));
+        assertFalse(sessionManager.cancel(attached.getId()));
+
+        assertThrows(CancellationException.class, () -> sessionManager.await(idle, TIMEOUT));
+        assertThrows(IllegalArgumentException.class, () -> sessionManager.attach(idle.getId(), io()));
+        assertEquals(3, sessionManager.await(attached, TIMEOUT).getRightAnswersCount());
+        assertEquals(0, sessionManager.getActiveSessionCount());
+    }
+
+    @Test
+    @DisplayName("Should expire a session that gets no IO within the attach timeout")
+    void shouldExpireSessionWithoutIo() {
+        sessionManager.destroy();
+        var sessionConfig = new AppProperties();
+        sessionConfig.setSessionAttachTimeoutMillis(50);
+        sessionManager = new QuizSessionManager(sessionRunner, sessionConfig);
+
+        var session = sessionManager.start();
+
+        assertThrows(CancellationException.class, () -> sessionManager.await(session, TIMEOUT));
+        assertEquals(0, sessionManager.getActiveSessionCount());
+    }
+
+    @Test
+    @DisplayName("Should time DAO calls and message lookups as parts of the session stages")
+    void shouldTimeDaoAndMessageLookups() {
+        var timings = sessionRunner.runTimed(io("John", "Doe", "2", "1", "1"));
+
+        assertEquals(3, timings.result().getRightAnswersCount());
+        assertTrue(timings.daoNanos() > 0);
+        assertTrue(timings.messagesNanos() > 0);
+        assertTrue(timings.daoNanos() + timings.messagesNanos() <= timings.totalNanos());
+    }
+
+    private QuizSessionManager newSessionManager(int threads, int queueCapacity) {
+        var sessionConfig = new AppProperties();
+        sessionConfig.setSessionThreads(threads);
+        sessionConfig.setSessionQueueCapacity(queueCapacity);
+        return new QuizSessionManager(sessionRunner, sessionConfig);
+    }
+
+    private double throughput(int concurrency) throws Exception {
+        List<QuizSession> sessions = new ArrayList<>(concurrency);
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < concurrency; i++) {
+            var session = sessionManager.start();
+            sessions.add(session);
+            sessionManager.attach(session.getId(), thinkingIo("Student", String.valueOf(i), "2", "1", "1"));
+        }
+        for (QuizSession session : sessions) {
+            assertEquals(3, sessionManager.await(session, TIMEOUT).getRightAnswersCount());
+        }
+        return concurrency / ((System.nanoTime() - startedAt) / 1e9);
+    }
+
+    // a student who thinks before typing each line, so sessions spend their time waiting for input
+    private IOService thinkingIo(String... lines) {
+        var input = new InputStream() {
+            private int next;
+
+            private byte[] line = new byte[0];
+
+            private int position;
+
+            @Override
+            public int read() {
+                byte[] b = new byte[1];
+                return read(b, 0, 1) < 0 ? -1 : b[0] & 0xFF;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                if (position == line.length) {
+                    if (next == lines.length || !think()) {
+                        return -1;
+                    }
+                    line = (lines[next++] + "\n").getBytes(StandardCharsets.UTF_8);
+                    position = 0;
+                }
+                int count = Math.min(len, line.length - position);
+                System.arraycopy(line, position, b, off, count);
+                position += count;
+                return count;
+            }
+        };
+        return new StreamsIOService(new PrintStream(OutputStream.nullOutputStream()), input,
+                new QuizMetrics(new SimpleMeterRegistry()));
+    }
+
+    private static boolean think() {
+        try {
+            Thread.sleep(THINK_TIME.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private IOService blockingIo(CountDownLatch latch, String... lines) {
+        var input = new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                try {
+                    latch.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.read(b, off, len);
+            }
+        };
+        return new StreamsIOService(new PrintStream(OutputStream.nullOutputStream()), input,
+                new QuizMetrics(new SimpleMeterRegistry()));
+    }
+
+    private IOService io(String... lines) {
+        var input = String.join("\n", lines).getBytes(StandardCharsets.UTF_8);
+        return new StreamsIOService(new PrintStream(OutputStream.nullOutputStream()),
+                new ByteArrayInputStream(input), new QuizMetrics(new SimpleMeterRegistry()));
+    }
+}
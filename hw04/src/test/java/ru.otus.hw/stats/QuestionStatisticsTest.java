@@ -0,0 +1,171 @@
+package ru.otus.hw.stats;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.otus.hw.config.AppProperties;
+import ru.otus.hw.dao.BankVersion;
+import ru.otus.hw.domain.Answer;
+import ru.otus.hw.domain.Question;
+import ru.otus.hw.domain.Student;
+import ru.otus.hw.domain.TestResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuestionStatisticsTest {
+
+    private static final List<Question> QUESTIONS = List.of(
+            new Question("Is there life on Mars?", List.of(new Answer("Yes", false), new Answer("Unknown", true))),
+            new Question("Is Pluto a planet?", List.of(new Answer("Giant", false), new Answer("Dwarf", true),
+                    new Answer("No", false))));
+
+    private static final BankVersion VERSION = new BankVersion("questions.csv", 0);
+
+    @Test
+    @DisplayName("Should count attempts, right answers, choices and passed sessions")
+    void shouldCountAnswersAndSessions() {
+        var statistics = newStatistics(2);
+
+        runSession(statistics, 1, 1);
+        runSession(statistics, 0, 1);
+        runSession(statistics, 0, 2);
+
+        var snapshot = statistics.snapshot();
+        assertEquals(3, snapshot.sessions());
+        assertEquals(1, snapshot.passedSessions());
+        assertEquals(2, snapshot.bestScore());
+        assertEquals(2, snapshot.questions().size());
+        var first = snapshot.questions().get(0);
+        assertEquals(QUESTIONS.get(0).text(), first.text());
+        assertEquals(3, first.attempts());
+        assertEquals(1, first.rightAnswers());
+        assertArrayEquals(new long[] {2, 1}, first.choices());
+        var second = snapshot.questions().get(1);
+        assertEquals(1, second.position());
+        assertEquals(2, second.rightAnswers());
+        assertArrayEquals(new long[] {0, 2, 1}, second.choices());
+    }
+
+    @Test
+    @DisplayName("Should keep snapshots consistent and totals exact under thousands of concurrent sessions")
+    void shouldStayConsistentUnderConcurrentSessions() throws InterruptedException {
+        var statistics = newStatistics(1);
+        int threads = 32;
+        int sessionsPerThread = 20_000;
+        var start = new CountDownLatch(1);
+        var done = new AtomicBoolean();
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            workers.add(start(() -> {
+                awaitQuietly(start);
+                var random = ThreadLocalRandom.current();
+                for (int i = 0; i < sessionsPerThread; i++) {
+                    runSession(statistics, random.nextInt(2), random.nextInt(3));
+                }
+            }));
+        }
+        List<StatisticsSnapshot> snapshots = new ArrayList<>();
+        var reader = start(() -> {
+            while (!done.get()) {
+                snapshots.add(statistics.snapshot());
+            }
+        });
+
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        done.set(true);
+        reader.join();
+
+        for (StatisticsSnapshot snapshot : snapshots) {
+            assertTrue(snapshot.passedSessions() <= snapshot.sessions());
+            snapshot.questions().forEach(question -> assertTrue(question.rightAnswers() <= question.attempts()));
+        }
+        var total = statistics.snapshot();
+        long sessions = (long) threads * sessionsPerThread;
+        assertEquals(sessions, total.sessions());
+        total.questions().forEach(question -> assertEquals(sessions, question.attempts()));
+    }
+
+    @Test
+    @DisplayName("Should count each bank apart and start a new row for a question replaced by a reload")
+    void shouldKeepRowsPerBankVersion() {
+        var statistics = newStatistics(1);
+        var russian = new BankVersion("questions_ru.csv", 0);
+        var reloaded = new BankVersion("questions.csv", 1);
+        var russianQuestion = new Question("Есть ли жизнь на Марсе?", List.of(new Answer("Неизвестно", true)));
+        var replacement = new Question("Is the Moon a planet?", List.of(new Answer("No", true)));
+
+        statistics.recordAnswer(VERSION, 0, QUESTIONS.get(0), 1);
+        statistics.recordAnswer(VERSION, 1, QUESTIONS.get(1), 0);
+        statistics.recordAnswer(russian, 0, russianQuestion, 0);
+        statistics.recordAnswer(reloaded, 0, QUESTIONS.get(0), 0);
+        statistics.recordAnswer(reloaded, 1, replacement, 0);
+        statistics.recordAnswer(reloaded, 5, QUESTIONS.get(1), 1);
+        statistics.recordAnswer(VERSION, 0, QUESTIONS.get(0), 1);
+
+        var questions = statistics.snapshot().questions();
+        assertEquals(4, questions.size());
+        assertEquals(QUESTIONS.get(0).text(), questions.get(0).text());
+        assertArrayEquals(new long[] {1, 2}, questions.get(0).choices());
+        assertEquals(replacement.text(), questions.get(1).text());
+        assertArrayEquals(new long[] {1}, questions.get(1).choices());
+        assertEquals(5, questions.get(2).position());
+        assertEquals(1, questions.get(2).rightAnswers());
+        assertEquals(russianQuestion.text(), questions.get(3).text());
+        assertEquals(1, questions.get(3).attempts());
+    }
+
+    @Test
+    @DisplayName("Should ignore answers to a bank version replaced more than once")
+    void shouldIgnoreAnswersToOutdatedBank() {
+        var statistics = newStatistics(1);
+
+        statistics.recordAnswer(new BankVersion("questions.csv", 2), 0, QUESTIONS.get(0), 1);
+        statistics.recordAnswer(new BankVersion("questions.csv", 3), 0, QUESTIONS.get(0), 1);
+        statistics.recordAnswer(VERSION, 0, QUESTIONS.get(0), 0);
+
+        var questions = statistics.snapshot().questions();
+        assertEquals(1, questions.size());
+        assertArrayEquals(new long[] {0, 2}, questions.get(0).choices());
+    }
+
+    private static void runSession(QuestionStatistics statistics, int firstChoice, int secondChoice) {
+        var result = new TestResult(new Student("Bob", "Smith"));
+        int[] choices = {firstChoice, secondChoice};
+        IntStream.range(0, QUESTIONS.size()).forEach(i -> {
+            statistics.recordAnswer(VERSION, i, QUESTIONS.get(i), choices[i]);
+            result.applyAnswer(QUESTIONS.get(i), choices[i]);
+        });
+        statistics.recordResult(result);
+    }
+
+    private static QuestionStatistics newStatistics(int rightAnswersCountToPass) {
+        var properties = new AppProperties();
+        properties.setRightAnswersCountToPass(rightAnswersCountToPass);
+        return new QuestionStatistics(properties);
+    }
+
+    private static Thread start(Runnable task) {
+        var thread = new Thread(task);
+        thread.start();
+        return thread;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+#!/usr/bin/env bash
+# Time to the first question of a one-shot `run`: plain jar, AOT, AOT + AppCDS.
+# Build first with: mvn -pl hw04 package -Pfast-start -DskipTests
+set -euo pipefail
+cd "$(dirname "$0")"
+
+RUNS=${RUNS:-5}
+JAR=target/hw04-0.1-exec.jar
+FAST_START=target/fast-start
+MARKER="Question 1:"
+
+if [[ ! -f $JAR || ! -f $FAST_START/hw04-0.1-exec.jar || ! -f $FAST_START/application.jsa ]]; then
+    echo "Run 'mvn -pl hw04 package -Pfast-start -DskipTests' first" >&2
+    exit 1
+fi
+
+first_question_millis() {
+    local start line
+    start=$(date +%s%N)
+    while IFS= read -r line; do
+        if [[ $line == *"$MARKER"* ]]; then
+            echo $(( ($(date +%s%N) - start) / 1000000 ))
+            return
+        fi
+    done < <(printf 'Startup\nBenchmark\n' | "$@" --test.locale=en-US --spring.main.banner-mode=off \
+        --logging.level.root=warn run 2>/dev/null)
+    echo "No question was printed by: $*" >&2
+    exit 1
+}
+
+measure() {
+    local name=$1
+    shift
+    first_question_millis "$@" > /dev/null
+    local times=()
+    for ((i = 0; i < RUNS; i++)); do
+        times+=("$(first_question_millis "$@")")
+    done
+    local sorted
+    sorted=$(printf '%s\n' "${times[@]}" | sort -n)
+    printf '%-10s median %5d ms   min %5d ms   runs: %s\n' "$name" \
+        "$(sed -n "$(( (RUNS + 1) / 2 ))p" <<< "$sorted")" "$(head -1 <<< "$sorted")" "${times[*]}"
+}
+
+measure "cold" java -jar "$JAR"
+measure "aot" java -Dspring.aot.enabled=true -jar "$FAST_START/hw04-0.1-exec.jar"
+measure "aot+cds" java -XX:SharedArchiveFile="$FAST_START/application.jsa" -Dspring.aot.enabled=true \
+    -jar "$FAST_START/hw04-0.1-exec.jar"